@@ -0,0 +1,37 @@
+package com.github.hamzamemon.porterstemmer.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.Runner;
+
+/**
+ * Runs the benchmarks with the GC profiler, so allocation per word is reported next to ops/s.
+ * Takes the usual JMH command line, e.g. a benchmark name regex
+ */
+public final class BenchmarkRunner {
+    
+    /**
+     * Runs the benchmarks
+     *
+     * @param args JMH command line options
+     * @throws CommandLineOptionException if the options are invalid
+     * @throws RunnerException            if a benchmark fails
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+    
+    /**
+     * Constructor for BenchmarkRunner
+     */
+    private BenchmarkRunner() {
+    }
+}
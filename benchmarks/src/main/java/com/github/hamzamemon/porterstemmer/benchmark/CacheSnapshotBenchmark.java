@@ -0,0 +1,77 @@
+package com.github.hamzamemon.porterstemmer.benchmark;
+
+import com.github.hamzamemon.porterstemmer.cache.CacheSnapshot;
+import com.github.hamzamemon.porterstemmer.cache.LruStemCache;
+import com.github.hamzamemon.porterstemmer.stemming.PorterStemmer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to fill an empty cache with the vocabulary, by loading a snapshot and by stemming every word again
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSnapshotBenchmark {
+    
+    private String[] words;
+    private Path snapshot;
+    
+    /**
+     * Writes the snapshot of a cache holding the vocabulary
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        words = Corpus.vocabulary();
+        LruStemCache cache = new LruStemCache(PorterStemmer.DEFAULT_CACHE_CAPACITY);
+        CacheSnapshot.preload(Arrays.asList(words), cache);
+        
+        snapshot = Files.createTempFile("stems", ".snapshot");
+        CacheSnapshot.write(cache, snapshot);
+    }
+    
+    /**
+     * Deletes the snapshot
+     *
+     * @throws IOException if the snapshot cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+    
+    @Benchmark
+    public LruStemCache loadSnapshot() throws IOException {
+        LruStemCache cache = new LruStemCache(PorterStemmer.DEFAULT_CACHE_CAPACITY);
+        CacheSnapshot.read(snapshot, cache);
+        return cache;
+    }
+    
+    @Benchmark
+    public LruStemCache restem() {
+        LruStemCache cache = new LruStemCache(PorterStemmer.DEFAULT_CACHE_CAPACITY);
+        CacheSnapshot.preload(Arrays.asList(words), cache);
+        return cache;
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.hamzamemon.porterstemmer.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Words the benchmarks stem: the porter2Input.txt vocabulary and a synthetic token stream drawn from it with Zipf
+ * distributed frequencies, like the tokens of real text
+ */
+public final class Corpus {
+    
+    /**
+     * Number of tokens in the Zipf stream
+     */
+    public static final int STREAM_SIZE = 100_000;
+    
+    private static final double ZIPF_EXPONENT = 1.07;
+    private static final long SEED = 42;
+    
+    private static String[] vocabulary;
+    
+    /**
+     * Gets the inputs of porter2Input.txt, in file order
+     *
+     * @return the vocabulary
+     */
+    public static synchronized String[] vocabulary() {
+        if (vocabulary == null) {
+            vocabulary = load();
+        }
+        return vocabulary.clone();
+    }
+    
+    /**
+     * Draws a token stream from the vocabulary, where the k-th most frequent word appears about 1 / k^1.07 as often as
+     * the most frequent one. The ranks are shuffled with a fixed seed so every run uses the same stream
+     *
+     * @param size the number of tokens
+     * @return the tokens
+     */
+    public static String[] zipfStream(int size) {
+        List<String> ranked = new ArrayList<>(Arrays.asList(vocabulary()));
+        Random random = new Random(SEED);
+        Collections.shuffle(ranked, random);
+        
+        double[] cumulative = new double[ranked.size()];
+        double total = 0;
+        for (int k = 0; k < cumulative.length; k++) {
+            total += 1 / Math.pow(k + 1, ZIPF_EXPONENT);
+            cumulative[k] = total;
+        }
+        
+        String[] tokens = new String[size];
+        for (int i = 0; i < size; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            tokens[i] = ranked.get(rank < 0 ? -rank - 1 : rank);
+        }
+        return tokens;
+    }
+    
+    /**
+     * Reads the inputs of porter2Input.txt from the classpath
+     *
+     * @return the words
+     */
+    private static String[] load() {
+        InputStream stream = Corpus.class.getResourceAsStream("/porter2Input.txt");
+        if (stream == null) {
+            throw new IllegalStateException("porter2Input.txt is not on the classpath");
+        }
+        
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.trim().split("\\s+");
+                if (!columns[0].isEmpty()) {
+                    words.add(columns[0]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words.toArray(new String[0]);
+    }
+    
+    /**
+     * Constructor for Corpus
+     */
+    private Corpus() {
+    }
+}
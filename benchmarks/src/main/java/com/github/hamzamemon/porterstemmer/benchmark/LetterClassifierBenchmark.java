@@ -0,0 +1,101 @@
+package com.github.hamzamemon.porterstemmer.benchmark;
+
+import com.github.hamzamemon.porterstemmer.stemming.StemmingEngine;
+import com.github.hamzamemon.porterstemmer.util.LetterClassifier;
+import com.github.hamzamemon.porterstemmer.util.ScalarLetterClassifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput per letter of the scalar and vector letter classifiers over packed buffers of the Zipf token stream, by
+ * how many letters each call classifies, and throughput per word of stemming the packed stream with each classifier
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class LetterClassifierBenchmark {
+    
+    private static final int LETTERS = 1 << 16;
+    
+    @Param({"scalar", "vector"})
+    public String classifier;
+    
+    @Param({"8", "64", "4096"})
+    public int lettersPerCall;
+    
+    private LetterClassifier letterClassifier;
+    private char[] letters;
+    private boolean[] vowels;
+    private char[] stream;
+    private char[] work;
+    private int[] bounds;
+    private int[] stemLengths;
+    private final StemmingEngine engine = new StemmingEngine();
+    
+    /**
+     * Picks the classifier and packs the token stream
+     */
+    @Setup
+    public void setUp() {
+        if ("vector".equals(classifier)) {
+            letterClassifier = LetterClassifier.getDefault();
+            if (letterClassifier == ScalarLetterClassifier.INSTANCE) {
+                throw new IllegalStateException("The vector classifier is not supported in this JVM");
+            }
+        } else {
+            letterClassifier = ScalarLetterClassifier.INSTANCE;
+        }
+        
+        String[] words = Corpus.zipfStream(Corpus.STREAM_SIZE);
+        StringBuilder packed = new StringBuilder();
+        bounds = new int[words.length + 1];
+        for (int i = 0; i < words.length; i++) {
+            bounds[i] = packed.length();
+            packed.append(words[i]);
+        }
+        bounds[words.length] = packed.length();
+        stream = packed.toString().toCharArray();
+        work = new char[stream.length];
+        stemLengths = new int[words.length];
+        
+        letters = new char[LETTERS];
+        System.arraycopy(stream, 0, letters, 0, LETTERS);
+        vowels = new boolean[LETTERS];
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(LETTERS)
+    public int classify() {
+        int flags = 0;
+        for (int offset = 0; offset < LETTERS; offset += lettersPerCall) {
+            flags |= letterClassifier.classify(letters, offset, lettersPerCall, vowels);
+        }
+        return flags;
+    }
+    
+    /**
+     * Stems the packed stream, lettersPerCall only sharing the parameter space with classify
+     */
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void stemPacked(Blackhole blackhole) {
+        System.arraycopy(stream, 0, work, 0, stream.length);
+        blackhole.consume(engine.stemAll(work, bounds, stemLengths.length, stemLengths, letterClassifier));
+    }
+}
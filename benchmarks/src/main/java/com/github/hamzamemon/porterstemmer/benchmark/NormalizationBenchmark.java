@@ -0,0 +1,67 @@
+package com.github.hamzamemon.porterstemmer.benchmark;
+
+import com.github.hamzamemon.porterstemmer.stemming.StemmingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to stem one capitalized word with typographic apostrophes, normalizing it with toLowerCase and replace first or
+ * with the fused stemNormalized
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NormalizationBenchmark {
+    
+    private final StemmingEngine engine = new StemmingEngine();
+    private String[] words;
+    private int next;
+    
+    /**
+     * Capitalizes the vocabulary and replaces its apostrophes with U+2019
+     */
+    @Setup
+    public void setUp() {
+        String[] vocabulary = Corpus.vocabulary();
+        words = new String[vocabulary.length];
+        for (int i = 0; i < vocabulary.length; i++) {
+            String word = vocabulary[i].replace('\'', '\u2019');
+            words[i] = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+        }
+    }
+    
+    /**
+     * Gets the next word, cycling through the vocabulary
+     *
+     * @return the word
+     */
+    private String nextWord() {
+        String word = words[next];
+        next = next + 1 == words.length ? 0 : next + 1;
+        return word;
+    }
+    
+    @Benchmark
+    public String normalizeThenStem() {
+        String word = nextWord();
+        return engine.stem(word.toLowerCase().replace('\u2018', '\'').replace('\u2019', '\'').replace('\u201B', '\''));
+    }
+    
+    @Benchmark
+    public String stemNormalized() {
+        return engine.stemNormalized(nextWord());
+    }
+}
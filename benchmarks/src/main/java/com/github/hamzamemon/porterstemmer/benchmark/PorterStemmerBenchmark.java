@@ -0,0 +1,81 @@
+package com.github.hamzamemon.porterstemmer.benchmark;
+
+import com.github.hamzamemon.porterstemmer.cache.NoStemCache;
+import com.github.hamzamemon.porterstemmer.stemming.PorterStemmer;
+import com.github.hamzamemon.porterstemmer.stemming.Stemmer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of PorterStemmer.stem per word, with a warm cache holding every word and with a cache that never hits
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PorterStemmerBenchmark {
+    
+    @Param({"vocabulary", "zipf"})
+    public String input;
+    
+    private String[] words;
+    private Stemmer warmStemmer;
+    private Stemmer coldStemmer;
+    
+    /**
+     * Loads the words and fills the warm cache with all of them
+     */
+    @Setup
+    public void setUp() {
+        words = "zipf".equals(input) ? Corpus.zipfStream(Corpus.STREAM_SIZE) : Corpus.vocabulary();
+        
+        warmStemmer = Stemmer.builder().cacheCapacity(PorterStemmer.DEFAULT_CACHE_CAPACITY).build();
+        coldStemmer = Stemmer.builder().cache(NoStemCache.INSTANCE).build();
+        PorterStemmer.setDefault(warmStemmer);
+        for (String word : words) {
+            PorterStemmer.stem(word);
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void stemWarmCache(Blackhole blackhole) {
+        PorterStemmer.setDefault(warmStemmer);
+        stemAll(blackhole);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void stemColdCache(Blackhole blackhole) {
+        PorterStemmer.setDefault(coldStemmer);
+        stemAll(blackhole);
+    }
+    
+    /**
+     * Stems Corpus.STREAM_SIZE words, cycling through the input
+     *
+     * @param blackhole consumes the stems
+     */
+    private void stemAll(Blackhole blackhole) {
+        String[] words = this.words;
+        for (int i = 0; i < Corpus.STREAM_SIZE; i++) {
+            blackhole.consume(PorterStemmer.stem(words[i % words.length]));
+        }
+    }
+    
+}
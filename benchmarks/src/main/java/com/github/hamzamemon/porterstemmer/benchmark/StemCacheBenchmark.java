@@ -0,0 +1,124 @@
+package com.github.hamzamemon.porterstemmer.benchmark;
+
+import com.github.hamzamemon.porterstemmer.cache.ArenaStemCache;
+import com.github.hamzamemon.porterstemmer.cache.CachePolicy;
+import com.github.hamzamemon.porterstemmer.cache.StemCache;
+import com.github.hamzamemon.porterstemmer.stemming.StemmingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of cache lookups of the Zipf token stream, from Strings and from char[] slices. The heap retained per
+ * cached word is measured once per trial and printed before the first iteration
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StemCacheBenchmark {
+    
+    @Param({"LRU", "ARENA"})
+    public CachePolicy policy;
+    
+    private StemCache cache;
+    private String[] words;
+    private char[][] letters;
+    private final char[] stem = new char[64];
+    
+    /**
+     * Measures the heap retained by a cache of the vocabulary, then fills the cache the lookups use
+     */
+    @Setup
+    public void setUp() {
+        String[] vocabulary = Corpus.vocabulary();
+        printBytesPerEntry(vocabulary);
+        
+        cache = fill(vocabulary);
+        words = Corpus.zipfStream(Corpus.STREAM_SIZE);
+        letters = new char[words.length][];
+        for (int i = 0; i < words.length; i++) {
+            letters[i] = words[i].toCharArray();
+        }
+    }
+    
+    /**
+     * Creates a cache holding copies of the vocabulary and their stems, like a cache filled by freshly tokenized words
+     *
+     * @param vocabulary the words
+     * @return the cache
+     */
+    private StemCache fill(String[] vocabulary) {
+        StemmingEngine engine = new StemmingEngine();
+        StemCache filled = policy.newCache(vocabulary.length);
+        for (String word : vocabulary) {
+            String copy = new String(word.toCharArray());
+            filled.put(copy, engine.stem(copy));
+        }
+        return filled;
+    }
+    
+    /**
+     * Prints the heap a cache of the vocabulary retains per word, keys and stems included
+     *
+     * @param vocabulary the words
+     */
+    private void printBytesPerEntry(String[] vocabulary) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        
+        StemCache filled = fill(vocabulary);
+        System.gc();
+        long after = memory.getHeapMemoryUsage().getUsed();
+        
+        double bytes = (double) (after - before) / filled.size();
+        System.out.printf("%n%s cache: %d words, %.1f bytes per word%n", policy, filled.size(), bytes);
+        if (filled instanceof ArenaStemCache) {
+            System.out.printf("%s arrays: %.1f bytes per word%n", policy,
+                    (double) ((ArenaStemCache) filled).getFootprint() / filled.size());
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void getString(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(cache.get(word));
+        }
+    }
+    
+    /**
+     * Looks each token up from its char[], creating the String the LRU cache needs as a tokenizer would
+     */
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void getSlice(Blackhole blackhole) {
+        if (cache instanceof ArenaStemCache) {
+            ArenaStemCache arena = (ArenaStemCache) cache;
+            for (char[] word : letters) {
+                blackhole.consume(arena.get(word, 0, word.length, stem, 0));
+            }
+        } else {
+            for (char[] word : letters) {
+                blackhole.consume(cache.get(new String(word, 0, word.length)));
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.hamzamemon.porterstemmer.benchmark;
+
+import com.github.hamzamemon.porterstemmer.stemming.StemmingEngine;
+import com.github.hamzamemon.porterstemmer.stemming.StemmingMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to stem one word in place with each StemmingMode, without a cache, cycling through the vocabulary
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StemmingModeBenchmark {
+    
+    @Param({"POSSESSIVE", "PLURAL", "STEP_1", "FULL"})
+    public StemmingMode mode;
+    
+    private final StemmingEngine engine = new StemmingEngine();
+    private char[][] words;
+    private char[] scratch;
+    private int next;
+    
+    /**
+     * Loads the vocabulary as char arrays
+     */
+    @Setup
+    public void setUp() {
+        String[] vocabulary = Corpus.vocabulary();
+        words = new char[vocabulary.length][];
+        int longest = 0;
+        for (int i = 0; i < vocabulary.length; i++) {
+            words[i] = vocabulary[i].toCharArray();
+            longest = Math.max(longest, words[i].length);
+        }
+        scratch = new char[longest];
+    }
+    
+    @Benchmark
+    public int stem() {
+        char[] word = words[next];
+        next = next + 1 == words.length ? 0 : next + 1;
+        System.arraycopy(word, 0, scratch, 0, word.length);
+        return engine.stem(scratch, 0, word.length, mode);
+    }
+}
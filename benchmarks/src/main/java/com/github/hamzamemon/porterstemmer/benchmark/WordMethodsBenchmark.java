@@ -0,0 +1,106 @@
+package com.github.hamzamemon.porterstemmer.benchmark;
+
+import com.github.hamzamemon.porterstemmer.suffixes.Step2Suffixes;
+import com.github.hamzamemon.porterstemmer.suffixes.Step3Suffixes;
+import com.github.hamzamemon.porterstemmer.suffixes.Step4Suffixes;
+import com.github.hamzamemon.porterstemmer.suffixes.SuffixMatcher;
+import com.github.hamzamemon.porterstemmer.suffixes.SuffixTrie;
+import com.github.hamzamemon.porterstemmer.util.WordMethods;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput per word of the WordMethods checks and of the Step 2-4 suffix scan, through the trie and through the
+ * generated SuffixMatcher, over the Zipf token stream
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordMethodsBenchmark {
+    
+    private static final SuffixTrie<Step2Suffixes> STEP_2_SUFFIXES = new SuffixTrie<>(Step2Suffixes.values());
+    private static final SuffixTrie<Step3Suffixes> STEP_3_SUFFIXES = new SuffixTrie<>(Step3Suffixes.values());
+    private static final SuffixTrie<Step4Suffixes> STEP_4_SUFFIXES = new SuffixTrie<>(Step4Suffixes.values());
+    
+    private String[] words;
+    private char[][] letters;
+    
+    /**
+     * Draws the token stream
+     */
+    @Setup
+    public void setUp() {
+        words = Corpus.zipfStream(Corpus.STREAM_SIZE);
+        letters = new char[words.length][];
+        for (int i = 0; i < words.length; i++) {
+            letters[i] = words[i].toCharArray();
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void getMeasure(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(WordMethods.getMeasure(word));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void getMeasureCharArray(Blackhole blackhole) {
+        for (char[] word : letters) {
+            blackhole.consume(WordMethods.getMeasure(word, word.length));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void getLetterTypes(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(WordMethods.getLetterTypes(word));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void endsWithShortSyllable(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(WordMethods.endsWithShortSyllable(word));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void suffixScan(Blackhole blackhole) {
+        for (char[] word : letters) {
+            blackhole.consume(STEP_2_SUFFIXES.longestMatch(word, word.length, 0));
+            blackhole.consume(STEP_3_SUFFIXES.longestMatch(word, word.length, 0));
+            blackhole.consume(STEP_4_SUFFIXES.longestMatch(word, word.length, 0));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(Corpus.STREAM_SIZE)
+    public void suffixSwitch(Blackhole blackhole) {
+        for (char[] word : letters) {
+            blackhole.consume(SuffixMatcher.matchStep2(word, word.length, 0));
+            blackhole.consume(SuffixMatcher.matchStep3(word, word.length, 0));
+            blackhole.consume(SuffixMatcher.matchStep4(word, word.length, 0));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.hamzamemon.porterstemmer.lucene;
+
+import com.github.hamzamemon.porterstemmer.stemming.StemmingEngine;
+import org.apache.lucene.analysis.TokenFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.KeywordAttribute;
+
+import java.io.IOException;
+
+/**
+ * Stems every term with the Porter Stemmer directly in the term buffer, without copying it to a String and back.
+ * Terms marked as keywords are left unchanged. Like every TokenFilter, an instance is used by one thread at a time
+ */
+public final class PorterStemmerFilter extends TokenFilter {
+    
+    private final StemmingEngine engine = new StemmingEngine();
+    private final CharTermAttribute termAttribute = addAttribute(CharTermAttribute.class);
+    private final KeywordAttribute keywordAttribute = addAttribute(KeywordAttribute.class);
+    
+    /**
+     * Constructor for PorterStemmerFilter
+     *
+     * @param input the stream of terms to stem
+     */
+    public PorterStemmerFilter(TokenStream input) {
+        super(input);
+    }
+    
+    @Override
+    public boolean incrementToken() throws IOException {
+        if (!input.incrementToken()) {
+            return false;
+        }
+        
+        if (!keywordAttribute.isKeyword()) {
+            termAttribute.setLength(engine.stem(termAttribute.buffer(), 0, termAttribute.length()));
+        }
+        return true;
+    }
+}
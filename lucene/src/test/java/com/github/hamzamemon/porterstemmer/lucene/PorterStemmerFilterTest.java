@@ -0,0 +1,68 @@
+package com.github.hamzamemon.porterstemmer.lucene;
+
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.miscellaneous.SetKeywordMarkerFilter;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PorterStemmerFilterTest {
+    
+    /**
+     * Collects the terms of a stream
+     *
+     * @param stream the stream
+     * @return the terms
+     * @throws IOException if the stream fails
+     */
+    private static List<String> terms(TokenStream stream) throws IOException {
+        List<String> terms = new ArrayList<>();
+        CharTermAttribute termAttribute = stream.addAttribute(CharTermAttribute.class);
+        stream.reset();
+        while (stream.incrementToken()) {
+            terms.add(termAttribute.toString());
+        }
+        stream.end();
+        stream.close();
+        return terms;
+    }
+    
+    @Test
+    public void validateStems() throws IOException {
+        StringBuilder inputs = new StringBuilder();
+        List<String> outputs = new ArrayList<>();
+        try (Scanner porter2Input = new Scanner(new File("../src/test/resources/porter2Input.txt"))) {
+            while (porter2Input.hasNext()) {
+                inputs.append(porter2Input.next()).append(' ');
+                outputs.add(porter2Input.next());
+            }
+        }
+        
+        Tokenizer tokenizer = new WhitespaceTokenizer();
+        tokenizer.setReader(new StringReader(inputs.toString()));
+        
+        assertEquals(outputs, terms(new PorterStemmerFilter(tokenizer)));
+    }
+    
+    @Test
+    public void test_incrementToken_KeywordsAreNotStemmed() throws IOException {
+        Tokenizer tokenizer = new WhitespaceTokenizer();
+        tokenizer.setReader(new StringReader("running meetings generously"));
+        CharArraySet keywords = new CharArraySet(List.of("meetings"), false);
+        
+        TokenStream stream = new PorterStemmerFilter(new SetKeywordMarkerFilter(tokenizer, keywords));
+        
+        assertEquals(List.of("run", "meetings", "generous"), terms(stream));
+    }
+}
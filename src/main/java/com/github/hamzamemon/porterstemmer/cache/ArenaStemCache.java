@@ -0,0 +1,630 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded {@link StemCache} holding its words and stems in flat char arrays indexed by an open-addressing table of
+ * longs, so it keeps no Entry or String objects and can be looked up from a char[] slice without allocating.
+ * <p>
+ * Each segment keeps two generations. New words go into the current generation; once it is full it becomes the
+ * previous generation and the old previous one is dropped. A word found in the previous generation is copied into the
+ * current one, so the words in use survive and the rest are evicted a generation at a time, which approximates LRU
+ * without per-entry bookkeeping. Words or stems longer than 65535 letters are not cached
+ */
+public final class ArenaStemCache implements StemCache {
+    
+    /**
+     * Letters of arena reserved per cached word, for the word and its stem together
+     */
+    public static final int CHARS_PER_ENTRY = 16;
+    
+    private static final int MAX_LENGTH = 0xFFFF;
+    
+    private final Segment[] segments;
+    private final int mask;
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Constructor for ArenaStemCache, sizing the segments from the number of processors
+     *
+     * @param capacity the maximum number of cached words
+     */
+    public ArenaStemCache(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+    
+    /**
+     * Constructor for ArenaStemCache
+     *
+     * @param capacity    the maximum number of cached words
+     * @param concurrency the expected number of threads using the cache, rounded up to a power of two
+     */
+    public ArenaStemCache(int capacity, int concurrency) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        
+        // Every segment holds at least 16 words, 8 per generation
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, capacity >> 4)) * 2 - 1);
+        int generationCapacity = Math.max(1, (capacity + 2 * segmentCount - 1) / (2 * segmentCount));
+        
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(generationCapacity);
+        }
+        this.mask = segmentCount - 1;
+        this.capacity = 2 * generationCapacity * segmentCount;
+    }
+    
+    /**
+     * Hashes the letters of a word the way String.hashCode does, so a String key can use its cached hash
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @return the hash
+     */
+    static int hash(char[] word, int offset, int length) {
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + word[i];
+        }
+        return hash;
+    }
+    
+    /**
+     * Gets the segment of a hash, spreading it so words differing in the high bits use different segments
+     *
+     * @param hash the hash of the word
+     * @return the segment
+     */
+    private Segment segmentFor(int hash) {
+        return segments[(hash ^ hash >>> 16) & mask];
+    }
+    
+    @Override
+    public String get(String word) {
+        String stem = null;
+        if (word.length() <= MAX_LENGTH) {
+            int hash = word.hashCode();
+            Segment segment = segmentFor(hash);
+            synchronized (segment) {
+                stem = segment.get(word, hash);
+            }
+        }
+        
+        if (stem == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return stem;
+    }
+    
+    /**
+     * Gets the cached stem of a word without creating a String
+     *
+     * @param word       the buffer holding the word
+     * @param offset     the index of the first letter
+     * @param length     the number of letters
+     * @param stem       where the stem is written, may be the word's buffer to replace the word with its stem
+     * @param stemOffset the index the stem is written at
+     * @return the length of the stem, or -1 if the word is not cached
+     */
+    public int get(char[] word, int offset, int length, char[] stem, int stemOffset) {
+        int stemLength = -1;
+        if (length <= MAX_LENGTH) {
+            int hash = hash(word, offset, length);
+            Segment segment = segmentFor(hash);
+            synchronized (segment) {
+                stemLength = segment.get(word, offset, length, hash, stem, stemOffset);
+            }
+        }
+        
+        if (stemLength < 0) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return stemLength;
+    }
+    
+    @Override
+    public void put(String word, String stem) {
+        if (word.length() > MAX_LENGTH || stem.length() > MAX_LENGTH) {
+            return;
+        }
+        
+        int hash = word.hashCode();
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            segment.put(word, stem, hash);
+        }
+    }
+    
+    /**
+     * Caches the stem of a word without creating a String
+     *
+     * @param word       the buffer holding the word
+     * @param offset     the index of the first letter of the word
+     * @param length     the number of letters in the word
+     * @param stem       the buffer holding the stem
+     * @param stemOffset the index of the first letter of the stem
+     * @param stemLength the number of letters in the stem
+     */
+    public void put(char[] word, int offset, int length, char[] stem, int stemOffset, int stemLength) {
+        if (length > MAX_LENGTH || stemLength > MAX_LENGTH) {
+            return;
+        }
+        
+        int hash = hash(word, offset, length);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            segment.put(word, offset, length, stem, stemOffset, stemLength, hash);
+        }
+    }
+    
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+    
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size(), capacity);
+    }
+    
+    /**
+     * Visits the words of every segment, its previous generation before its current one, each in insertion order
+     *
+     * @param action what to do with each word and stem
+     */
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        for (Segment segment : segments) {
+            String[] entries;
+            synchronized (segment) {
+                entries = segment.entries();
+            }
+            for (int i = 0; i < entries.length; i += 2) {
+                action.accept(entries[i], entries[i + 1]);
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of bytes of the arrays holding the cached words, which is all the memory the cache keeps per
+     * word besides the array headers
+     *
+     * @return the number of bytes
+     */
+    public long getFootprint() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                bytes += segment.current.getFootprint() + segment.previous.getFootprint();
+            }
+        }
+        return bytes;
+    }
+    
+    /**
+     * One generation of a segment: an open-addressing table of hash and entry number pairs, the offset and lengths of
+     * each entry, and the arena holding each word followed by its stem
+     */
+    private static final class Table {
+        
+        private final long[] slots;
+        private final int shift;
+        private final int[] entries;
+        private final char[] arena;
+        private int count;
+        private int used;
+        
+        /**
+         * Constructor for Table
+         *
+         * @param capacity the maximum number of words
+         */
+        Table(int capacity) {
+            int bits = 32 - Integer.numberOfLeadingZeros(capacity * 2 - 1);
+            slots = new long[1 << bits];
+            shift = 32 - bits;
+            entries = new int[capacity * 2];
+            arena = new char[capacity * CHARS_PER_ENTRY];
+        }
+        
+        /**
+         * Gets the first slot to probe for a hash, mixing its bits so similar hashes do not cluster
+         *
+         * @param hash the hash
+         * @return the slot
+         */
+        private int slotFor(int hash) {
+            return (hash * 0x9E3779B9) >>> shift;
+        }
+        
+        /**
+         * Finds the entry of a word
+         *
+         * @param word the word
+         * @param hash the hash of the word
+         * @return the entry, or -1 if the word is not in the table
+         */
+        int find(String word, int hash) {
+            int slotMask = slots.length - 1;
+            for (int slot = slotFor(hash); ; slot = (slot + 1) & slotMask) {
+                long value = slots[slot];
+                if (value == 0) {
+                    return -1;
+                }
+                
+                int entry = (int) value - 1;
+                if ((int) (value >>> 32) == hash && keyLength(entry) == word.length()) {
+                    int start = entries[entry * 2];
+                    int i = 0;
+                    while (i < word.length() && arena[start + i] == word.charAt(i)) {
+                        i++;
+                    }
+                    if (i == word.length()) {
+                        return entry;
+                    }
+                }
+            }
+        }
+        
+        /**
+         * Finds the entry of a word
+         *
+         * @param word   the buffer holding the word
+         * @param offset the index of the first letter
+         * @param length the number of letters
+         * @param hash   the hash of the word
+         * @return the entry, or -1 if the word is not in the table
+         */
+        int find(char[] word, int offset, int length, int hash) {
+            int slotMask = slots.length - 1;
+            for (int slot = slotFor(hash); ; slot = (slot + 1) & slotMask) {
+                long value = slots[slot];
+                if (value == 0) {
+                    return -1;
+                }
+                
+                int entry = (int) value - 1;
+                if ((int) (value >>> 32) == hash && keyLength(entry) == length) {
+                    int start = entries[entry * 2];
+                    int i = 0;
+                    while (i < length && arena[start + i] == word[offset + i]) {
+                        i++;
+                    }
+                    if (i == length) {
+                        return entry;
+                    }
+                }
+            }
+        }
+        
+        /**
+         * Determines if a word and stem fit in the table
+         *
+         * @param letters the number of letters in the word and stem
+         * @return if they fit
+         */
+        boolean hasRoom(int letters) {
+            return count < entries.length / 2 && used + letters <= arena.length;
+        }
+        
+        /**
+         * Adds a word that is not in the table and that fits
+         *
+         * @param hash       the hash of the word
+         * @param length     the number of letters in the word
+         * @param stemLength the number of letters in the stem
+         * @return the index of the arena where the word goes, followed by the stem
+         */
+        int add(int hash, int length, int stemLength) {
+            int slotMask = slots.length - 1;
+            int slot = slotFor(hash);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & slotMask;
+            }
+            
+            int entry = count++;
+            slots[slot] = (long) hash << 32 | (entry + 1);
+            entries[entry * 2] = used;
+            entries[entry * 2 + 1] = length << 16 | stemLength;
+            
+            int start = used;
+            used += length + stemLength;
+            return start;
+        }
+        
+        /**
+         * Gets the number of letters in the word of an entry
+         *
+         * @param entry the entry
+         * @return the number of letters
+         */
+        int keyLength(int entry) {
+            return entries[entry * 2 + 1] >>> 16;
+        }
+        
+        /**
+         * Gets the number of letters in the stem of an entry
+         *
+         * @param entry the entry
+         * @return the number of letters
+         */
+        int stemLength(int entry) {
+            return entries[entry * 2 + 1] & MAX_LENGTH;
+        }
+        
+        /**
+         * Gets the index of the arena where the stem of an entry starts
+         *
+         * @param entry the entry
+         * @return the index
+         */
+        int stemStart(int entry) {
+            return entries[entry * 2] + keyLength(entry);
+        }
+        
+        /**
+         * Gets the number of bytes of the arrays of the table
+         *
+         * @return the number of bytes
+         */
+        long getFootprint() {
+            return slots.length * 8L + entries.length * 4L + arena.length * 2L;
+        }
+    }
+    
+    /**
+     * Part of the cache guarded by one lock, holding a current and a previous generation
+     */
+    private final class Segment {
+        
+        private final int generationCapacity;
+        private Table current;
+        private Table previous;
+        private int promoted;
+        
+        /**
+         * Constructor for Segment
+         *
+         * @param generationCapacity the maximum number of words in each generation
+         */
+        Segment(int generationCapacity) {
+            this.generationCapacity = generationCapacity;
+            this.current = new Table(generationCapacity);
+            this.previous = new Table(generationCapacity);
+        }
+        
+        /**
+         * Gets the stem of a word, moving it into the current generation if it is in the previous one
+         *
+         * @param word the word
+         * @param hash the hash of the word
+         * @return the stem, the word itself if stemming does not change it, or null if the word is not cached
+         */
+        String get(String word, int hash) {
+            Table table = current;
+            int entry = table.find(word, hash);
+            if (entry < 0) {
+                table = previous;
+                entry = table.find(word, hash);
+                if (entry < 0) {
+                    return null;
+                }
+                entry = promote(table, entry, hash);
+                table = current;
+            }
+            
+            int start = table.stemStart(entry);
+            int stemLength = table.stemLength(entry);
+            if (stemLength == word.length() && sameLetters(table.arena, start, word)) {
+                return word;
+            }
+            return new String(table.arena, start, stemLength);
+        }
+        
+        /**
+         * Determines if letters of an arena spell a word
+         *
+         * @param arena the arena
+         * @param start the index of the first letter
+         * @param word  the word, as long as the letters
+         * @return if the letters are the same
+         */
+        private boolean sameLetters(char[] arena, int start, String word) {
+            for (int i = 0; i < word.length(); i++) {
+                if (arena[start + i] != word.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        /**
+         * Copies the stem of a word, moving it into the current generation if it is in the previous one
+         *
+         * @param word       the buffer holding the word
+         * @param offset     the index of the first letter
+         * @param length     the number of letters
+         * @param hash       the hash of the word
+         * @param stem       where the stem is written
+         * @param stemOffset the index the stem is written at
+         * @return the length of the stem, or -1 if the word is not cached
+         */
+        int get(char[] word, int offset, int length, int hash, char[] stem, int stemOffset) {
+            Table table = current;
+            int entry = table.find(word, offset, length, hash);
+            if (entry < 0) {
+                table = previous;
+                entry = table.find(word, offset, length, hash);
+                if (entry < 0) {
+                    return -1;
+                }
+                // promoted before copying, as the stem may overwrite the word
+                entry = promote(table, entry, hash);
+                table = current;
+            }
+            
+            int stemLength = table.stemLength(entry);
+            System.arraycopy(table.arena, table.stemStart(entry), stem, stemOffset, stemLength);
+            return stemLength;
+        }
+        
+        /**
+         * Copies an entry of the previous generation into the current one
+         *
+         * @param from  the previous generation, which stays readable if the copy starts a new generation
+         * @param entry the entry
+         * @param hash  the hash of its word
+         * @return the entry in the current generation
+         */
+        private int promote(Table from, int entry, int hash) {
+            int length = from.keyLength(entry);
+            int stemLength = from.stemLength(entry);
+            Table to = reserve(length + stemLength);
+            int start = to.add(hash, length, stemLength);
+            System.arraycopy(from.arena, from.entries[entry * 2], to.arena, start, length + stemLength);
+            
+            // unless a new generation was started, the word is now in both generations
+            if (from == previous) {
+                promoted++;
+            }
+            return to.count - 1;
+        }
+        
+        /**
+         * Gets the current generation, starting a new one if a word and stem do not fit
+         *
+         * @param letters the number of letters in the word and stem
+         * @return the current generation
+         */
+        private Table reserve(int letters) {
+            if (!current.hasRoom(letters)) {
+                evictions.add(previous.count - promoted);
+                previous = current;
+                current = new Table(generationCapacity);
+                promoted = 0;
+            }
+            return current;
+        }
+        
+        /**
+         * Caches the stem of a word if it is not in the current generation
+         *
+         * @param word the word
+         * @param stem the stem
+         * @param hash the hash of the word
+         */
+        void put(String word, String stem, int hash) {
+            int letters = word.length() + stem.length();
+            if (letters > current.arena.length || current.find(word, hash) >= 0) {
+                return;
+            }
+            
+            boolean inPrevious = previous.find(word, hash) >= 0;
+            Table before = current;
+            Table table = reserve(letters);
+            int start = table.add(hash, word.length(), stem.length());
+            word.getChars(0, word.length(), table.arena, start);
+            stem.getChars(0, stem.length(), table.arena, start + word.length());
+            if (inPrevious && table == before) {
+                promoted++;
+            }
+        }
+        
+        /**
+         * Caches the stem of a word if it is not in the current generation
+         *
+         * @param word       the buffer holding the word
+         * @param offset     the index of the first letter of the word
+         * @param length     the number of letters in the word
+         * @param stem       the buffer holding the stem
+         * @param stemOffset the index of the first letter of the stem
+         * @param stemLength the number of letters in the stem
+         * @param hash       the hash of the word
+         */
+        void put(char[] word, int offset, int length, char[] stem, int stemOffset, int stemLength, int hash) {
+            int letters = length + stemLength;
+            if (letters > current.arena.length || current.find(word, offset, length, hash) >= 0) {
+                return;
+            }
+            
+            boolean inPrevious = previous.find(word, offset, length, hash) >= 0;
+            Table before = current;
+            Table table = reserve(letters);
+            int start = table.add(hash, length, stemLength);
+            System.arraycopy(word, offset, table.arena, start, length);
+            System.arraycopy(stem, stemOffset, table.arena, start + length, stemLength);
+            if (inPrevious && table == before) {
+                promoted++;
+            }
+        }
+        
+        /**
+         * Gets the number of distinct cached words
+         *
+         * @return the number of words
+         */
+        int size() {
+            return current.count + previous.count - promoted;
+        }
+        
+        /**
+         * Removes every word
+         */
+        void clear() {
+            current = new Table(generationCapacity);
+            previous = new Table(generationCapacity);
+            promoted = 0;
+        }
+        
+        /**
+         * Copies the distinct words and stems, previous generation first
+         *
+         * @return the words and stems, alternating
+         */
+        String[] entries() {
+            String[] words = new String[size() * 2];
+            int i = 0;
+            for (int entry = 0; entry < previous.count; entry++) {
+                String word = new String(previous.arena, previous.entries[entry * 2], previous.keyLength(entry));
+                if (current.find(word, word.hashCode()) < 0) {
+                    words[i++] = word;
+                    words[i++] = new String(previous.arena, previous.stemStart(entry), previous.stemLength(entry));
+                }
+            }
+            for (int entry = 0; entry < current.count; entry++) {
+                words[i++] = new String(current.arena, current.entries[entry * 2], current.keyLength(entry));
+                words[i++] = new String(current.arena, current.stemStart(entry), current.stemLength(entry));
+            }
+            return words;
+        }
+    }
+}
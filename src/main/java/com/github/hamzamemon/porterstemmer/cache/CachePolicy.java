@@ -0,0 +1,33 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+/**
+ * How a stemmer remembers the words it has stemmed
+ */
+public enum CachePolicy {
+    
+    // Bounded cache evicting the least recently used word, unless the new word was seen less often than it
+    LRU,
+    
+    // Bounded cache in flat char arrays, evicting a generation of words at a time, that char[] words use too
+    ARENA,
+    
+    // No cache, every word is stemmed by the algorithm
+    NONE;
+    
+    /**
+     * Creates a cache following this policy
+     *
+     * @param capacity the maximum number of cached words
+     * @return the cache
+     */
+    public StemCache newCache(int capacity) {
+        switch (this) {
+            case NONE:
+                return NoStemCache.INSTANCE;
+            case ARENA:
+                return new ArenaStemCache(capacity);
+            default:
+                return new LruStemCache(capacity);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+import com.github.hamzamemon.porterstemmer.stemming.StemmingEngine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Saves the hot words of a {@link StemCache} to a file and loads them back, so a restarted process does not start with
+ * an empty cache. The file holds, after a header of magic, version and word count, every word and its stem from the
+ * least to the most recently used. A stem is written as the number of letters it shares with the start of its word
+ * followed by the rest of its letters, so loading reads the stem instead of stemming the word again
+ */
+public final class CacheSnapshot {
+    
+    /**
+     * First int of a snapshot file, "PSC1"
+     */
+    static final int MAGIC = 0x50534331;
+    
+    /**
+     * Version of the file layout
+     */
+    static final int VERSION = 1;
+    
+    /**
+     * Longest String writeUTF can hold, in bytes
+     */
+    private static final int MAX_UTF_LENGTH = 65535;
+    
+    /**
+     * Constructor for CacheSnapshot
+     */
+    private CacheSnapshot() {
+    }
+    
+    /**
+     * Writes every word of a cache to a snapshot, atomically replacing the file if it exists
+     *
+     * @param cache the cache
+     * @param file  the snapshot file
+     * @return the number of words written
+     * @throws IOException if the file cannot be written
+     */
+    public static int write(StemCache cache, Path file) throws IOException {
+        return write(cache, file, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Writes the most recently used words of a cache to a snapshot, atomically replacing the file if it exists
+     *
+     * @param cache      the cache
+     * @param file       the snapshot file
+     * @param maxEntries the largest number of words to write
+     * @return the number of words written
+     * @throws IOException if the file cannot be written
+     */
+    public static int write(StemCache cache, Path file, int maxEntries) throws IOException {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative: " + maxEntries);
+        }
+        
+        List<String> entries = new ArrayList<>();
+        cache.forEach((word, stem) -> {
+            // writeUTF cannot hold longer Strings, and failing on one would abort the whole snapshot
+            if (utfLength(word, 0) <= MAX_UTF_LENGTH && utfLength(stem, sharedLength(word, stem)) <= MAX_UTF_LENGTH) {
+                entries.add(word);
+                entries.add(stem);
+            }
+        });
+        int count = entries.size() >> 1;
+        int skipped = Math.max(count - maxEntries, 0);
+        
+        // written next to the file and moved over it, so a process killed mid-write leaves the previous snapshot intact.
+        // Files.createTempFile would make the snapshot readable by its owner only, so it is created like any other file
+        Path target = file.toAbsolutePath();
+        Path temp = target.resolveSibling(
+                target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        OutputStream stream = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(count - skipped);
+                for (int i = skipped << 1; i < entries.size(); i += 2) {
+                    String word = entries.get(i);
+                    String stem = entries.get(i + 1);
+                    int shared = sharedLength(word, stem);
+                    
+                    out.writeUTF(word);
+                    out.writeChar(shared);
+                    out.writeUTF(stem.substring(shared));
+                }
+            }
+            replace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return count - skipped;
+    }
+    
+    /**
+     * Moves a file over another, atomically if the file system can
+     *
+     * @param source the file
+     * @param target the file it replaces
+     * @throws IOException if the file cannot be moved
+     */
+    private static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * Gets the number of bytes writeUTF writes for the end of a String, not counting its length prefix
+     *
+     * @param text the String
+     * @param from the index of the first char written
+     * @return the number of bytes
+     */
+    private static int utfLength(String text, int from) {
+        int length = 0;
+        for (int i = from; i < text.length(); i++) {
+            char letter = text.charAt(i);
+            length += letter >= 0x0001 && letter <= 0x007F ? 1 : letter <= 0x07FF ? 2 : 3;
+        }
+        return length;
+    }
+    
+    /**
+     * Gets the number of letters a stem shares with the start of its word
+     *
+     * @param word the word
+     * @param stem the stem
+     * @return the number of letters
+     */
+    private static int sharedLength(String word, String stem) {
+        int limit = Math.min(word.length(), stem.length());
+        int shared = 0;
+        while (shared < limit && word.charAt(shared) == stem.charAt(shared)) {
+            shared++;
+        }
+        return shared;
+    }
+    
+    /**
+     * Writes the most recently used words of a cache to a snapshot when the JVM shuts down. A failure is logged, as
+     * nothing is left to handle it
+     *
+     * @param cache      the cache
+     * @param file       the snapshot file
+     * @param maxEntries the largest number of words to write
+     */
+    public static void writeOnShutdown(StemCache cache, Path file, int maxEntries) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                write(cache, file, maxEntries);
+            } catch (IOException e) {
+                System.getLogger(CacheSnapshot.class.getName())
+                        .log(System.Logger.Level.WARNING, "Could not write the stem cache snapshot " + file, e);
+            }
+        }, "stem-cache-snapshot"));
+    }
+    
+    /**
+     * Loads a snapshot into a cache, so its most recently used words are again the most recently used
+     *
+     * @param file  the snapshot file
+     * @param cache the cache
+     * @return the number of words loaded
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static int read(Path file, StemCache cache) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a stem cache snapshot: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported stem cache snapshot version " + version + ": " + file);
+            }
+            
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String word = in.readUTF();
+                int shared = in.readChar();
+                String tail = in.readUTF();
+                
+                // an unchanged word is its own stem, as StemmingEngine returns it
+                String stem = shared == word.length() && tail.isEmpty() ? word : word.substring(0, shared) + tail;
+                cache.put(word, stem);
+            }
+            return count;
+        }
+    }
+    
+    /**
+     * Stems and caches words ranked from the most to the least frequent, so the most frequent words are the most
+     * recently used and the last to be evicted
+     *
+     * @param rankedWords the words, most frequent first
+     * @param cache       the cache
+     * @return the number of words cached
+     */
+    public static int preload(List<String> rankedWords, StemCache cache) {
+        StemmingEngine engine = new StemmingEngine();
+        for (int i = rankedWords.size() - 1; i >= 0; i--) {
+            String word = rankedWords.get(i);
+            cache.put(word, engine.stem(word));
+        }
+        return rankedWords.size();
+    }
+    
+    /**
+     * Stems and caches the words of a frequency-ranked word list, one word per line with the most frequent first, the
+     * first column of each line being the word
+     *
+     * @param wordList the word list
+     * @param cache    the cache
+     * @param limit    the largest number of words to cache, from the top of the list
+     * @return the number of words cached
+     * @throws IOException if the word list cannot be read
+     */
+    public static int preload(Path wordList, StemCache cache, int limit) throws IOException {
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(wordList, StandardCharsets.UTF_8)) {
+            String line;
+            while (words.size() < limit && (line = reader.readLine()) != null) {
+                String[] columns = line.trim().split("\\s+");
+                if (!columns[0].isEmpty()) {
+                    words.add(columns[0]);
+                }
+            }
+        }
+        return preload(words, cache);
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+/**
+ * Snapshot of the counters of a {@link StemCache}
+ */
+public final class CacheStats {
+    
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+    private final int capacity;
+    
+    /**
+     * Constructor for CacheStats
+     *
+     * @param hits      number of lookups that found a stem
+     * @param misses    number of lookups that did not find a stem
+     * @param evictions number of words removed to make room for others
+     * @param size      number of cached words
+     * @param capacity  maximum number of cached words
+     */
+    public CacheStats(long hits, long misses, long evictions, int size, int capacity) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.capacity = capacity;
+    }
+    
+    /**
+     * Gets the number of lookups that found a stem
+     *
+     * @return the hits
+     */
+    public long getHits() {
+        return hits;
+    }
+    
+    /**
+     * Gets the number of lookups that did not find a stem
+     *
+     * @return the misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+    
+    /**
+     * Gets the number of words removed to make room for others
+     *
+     * @return the evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    /**
+     * Gets the number of cached words
+     *
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+    
+    /**
+     * Gets the maximum number of cached words
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * Gets the ratio of hits to lookups
+     *
+     * @return the hit rate, 0 if there were no lookups
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+    
+    /**
+     * Output object as String
+     *
+     * @return the object as a String
+     */
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size
+                + ", capacity=" + capacity + "}";
+    }
+}
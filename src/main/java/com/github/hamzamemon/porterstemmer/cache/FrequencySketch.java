@@ -0,0 +1,90 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch estimating how often each word was seen recently. Every counter holds at most 15, and all of them
+ * are halved once the sketch has seen ten times as many words as its capacity, so old popularity fades. Not thread safe
+ */
+final class FrequencySketch {
+    
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+            0xcbf29ce484222325L};
+    private static final int MAX_FREQUENCY = 15;
+    
+    private final byte[] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+    
+    /**
+     * Constructor for FrequencySketch
+     *
+     * @param capacity the number of words whose frequencies should be told apart
+     */
+    FrequencySketch(int capacity) {
+        // four counters per word keeps collisions rare, without letting a huge capacity overflow the table size
+        int width = Math.min(Math.max(capacity, 16), 1 << 26) << 2;
+        this.counters = new byte[Integer.highestOneBit(width * 2 - 1)];
+        this.mask = counters.length - 1;
+        this.sampleSize = (int) Math.min(10L * capacity, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Gets the counter of a word in one of the rows
+     *
+     * @param hash the hash of the word
+     * @param row  the row, from 0 to 3
+     * @return the index of the counter
+     */
+    private int indexOf(int hash, int row) {
+        long index = (hash + SEEDS[row]) * SEEDS[row];
+        index += index >>> 32;
+        return (int) index & mask;
+    }
+    
+    /**
+     * Estimates how often a word was seen
+     *
+     * @param word the word
+     * @return the smallest of its counters, from 0 to 15
+     */
+    int frequency(String word) {
+        int hash = word.hashCode();
+        int frequency = MAX_FREQUENCY;
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, counters[indexOf(hash, row)]);
+        }
+        return frequency;
+    }
+    
+    /**
+     * Records that a word was seen, halving every counter once the sample is full
+     *
+     * @param word the word
+     */
+    void increment(String word) {
+        int hash = word.hashCode();
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = indexOf(hash, row);
+            if (counters[index] < MAX_FREQUENCY) {
+                counters[index]++;
+            }
+        }
+        
+        if (++additions == sampleSize) {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] >>= 1;
+            }
+            additions >>= 1;
+        }
+    }
+    
+    /**
+     * Forgets every word
+     */
+    void clear() {
+        Arrays.fill(counters, (byte) 0);
+        additions = 0;
+    }
+}
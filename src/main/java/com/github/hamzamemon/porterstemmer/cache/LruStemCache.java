@@ -0,0 +1,202 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded {@link StemCache} that evicts the least recently used word once it is full.
+ * The words are split over segments, each guarded by its own lock, so threads stemming different words rarely contend.
+ * A full segment admits a new word in the spirit of TinyLFU: a frequency sketch counts every lookup and insertion, and
+ * the new word is dropped instead when it was seen less often than the least recently used word, so a scan of one-off
+ * tokens cannot flush the words in use. Unlike W-TinyLFU there is no admission window, so a word only gets in once it
+ * has been seen as often as the word it would evict
+ */
+public final class LruStemCache implements StemCache {
+    
+    private final Segment[] segments;
+    private final int mask;
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Constructor for LruStemCache, sizing the segments from the number of processors
+     *
+     * @param capacity the maximum number of cached words
+     */
+    public LruStemCache(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+    
+    /**
+     * Constructor for LruStemCache
+     *
+     * @param capacity    the maximum number of cached words
+     * @param concurrency the expected number of threads using the cache, rounded up to a power of two
+     */
+    public LruStemCache(int capacity, int concurrency) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        
+        // Every segment holds at least 16 words so small caches still behave like an LRU
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, capacity >> 4)) * 2 - 1);
+        int segmentCapacity = (capacity + segmentCount - 1) / segmentCount;
+        
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        this.mask = segmentCount - 1;
+        this.capacity = segmentCapacity * segmentCount;
+    }
+    
+    /**
+     * Gets the segment of a word, spreading the hash so words differing in the high bits use different segments
+     *
+     * @param word the word
+     * @return the segment
+     */
+    private Segment segmentFor(String word) {
+        int hash = word.hashCode();
+        return segments[(hash ^ hash >>> 16) & mask];
+    }
+    
+    @Override
+    public String get(String word) {
+        Segment segment = segmentFor(word);
+        String stem;
+        synchronized (segment) {
+            segment.sketch.increment(word);
+            stem = segment.get(word);
+        }
+        
+        if (stem == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return stem;
+    }
+    
+    @Override
+    public void put(String word, String stem) {
+        Segment segment = segmentFor(word);
+        synchronized (segment) {
+            segment.admit(word, stem);
+        }
+    }
+    
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+                segment.sketch.clear();
+            }
+        }
+    }
+    
+    /**
+     * Visits the words of every segment, each segment from its least to its most recently used word. The segments are
+     * interleaved so their most recently used words come last together, which keeps the order close to a global LRU
+     *
+     * @param action what to do with each word and stem
+     */
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        String[][] entries = new String[segments.length][];
+        int longest = 0;
+        for (int i = 0; i < segments.length; i++) {
+            Segment segment = segments[i];
+            synchronized (segment) {
+                String[] words = new String[segment.size() << 1];
+                int j = 0;
+                for (Map.Entry<String, String> entry : segment.entrySet()) {
+                    words[j++] = entry.getKey();
+                    words[j++] = entry.getValue();
+                }
+                entries[i] = words;
+            }
+            longest = Math.max(longest, entries[i].length);
+        }
+        
+        // align the segments at their most recently used word
+        for (int position = 0; position < longest; position += 2) {
+            for (String[] words : entries) {
+                int index = position - (longest - words.length);
+                if (index >= 0) {
+                    action.accept(words[index], words[index + 1]);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size(), capacity);
+    }
+    
+    /**
+     * Access-ordered map holding one part of the cache
+     */
+    private final class Segment extends LinkedHashMap<String, String> {
+        
+        private final int segmentCapacity;
+        private final FrequencySketch sketch;
+        
+        /**
+         * Constructor for Segment
+         *
+         * @param segmentCapacity the maximum number of words in this segment
+         */
+        Segment(int segmentCapacity) {
+            super(16, 0.75f, true);
+            this.segmentCapacity = segmentCapacity;
+            this.sketch = new FrequencySketch(segmentCapacity);
+        }
+        
+        /**
+         * Caches a word unless the segment is full and the word was seen less often than the one it would evict
+         *
+         * @param word the word
+         * @param stem the stem of the word
+         */
+        void admit(String word, String stem) {
+            sketch.increment(word);
+            if (size() >= segmentCapacity && !containsKey(word)) {
+                String victim = keySet().iterator().next();
+                if (sketch.frequency(word) < sketch.frequency(victim)) {
+                    return;
+                }
+            }
+            put(word, stem);
+        }
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            if (size() > segmentCapacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+/**
+ * {@link StemCache} that never holds a word, so every word is stemmed by the algorithm
+ */
+public enum NoStemCache implements StemCache {
+    
+    INSTANCE;
+    
+    @Override
+    public String get(String word) {
+        return null;
+    }
+    
+    @Override
+    public void put(String word, String stem) {
+    }
+    
+    @Override
+    public int size() {
+        return 0;
+    }
+    
+    @Override
+    public void clear() {
+    }
+    
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Cache of words to their stems, used by the Porter Stemmer to skip words it has already stemmed.
+ * Implementations must be safe to use from multiple threads
+ */
+public interface StemCache {
+    
+    /**
+     * Gets the cached stem of a word
+     *
+     * @param word the word
+     * @return the stem, or null if the word is not cached
+     */
+    String get(String word);
+    
+    /**
+     * Caches the stem of a word, possibly evicting another word
+     *
+     * @param word the word
+     * @param stem the stem
+     */
+    void put(String word, String stem);
+    
+    /**
+     * Gets the number of cached words
+     *
+     * @return the number of cached words
+     */
+    int size();
+    
+    /**
+     * Removes every cached word, the counters are kept
+     */
+    void clear();
+    
+    /**
+     * Gets a snapshot of the hit, miss and eviction counters
+     *
+     * @return the counters
+     */
+    CacheStats stats();
+    
+    /**
+     * Visits every cached word and its stem, from the least to the most recently used if the cache tracks use.
+     * Caches that cannot list their words visit nothing
+     *
+     * @param action what to do with each word and stem
+     */
+    default void forEach(BiConsumer<String, String> action) {
+    }
+}
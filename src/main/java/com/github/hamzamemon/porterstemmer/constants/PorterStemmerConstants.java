@@ -14,9 +14,16 @@ public final class PorterStemmerConstants {
     
     public static final char VOWEL = 'V';
     public static final char CONSONANT = 'C';
+    
+    /**
+     * @deprecated the stemmer checks {@link #DOUBLE_CONSONANTS} directly instead of running this regex
+     */
+    @Deprecated
     public static final Pattern DOUBLES = Pattern.compile(".*(bb|dd|ff|gg|mm|nn|pp|rr|tt)$");
     
     public static final String VOWELS = "aeiouy";
+    public static final String DOUBLE_CONSONANTS = "bdfgmnprt";
+    public static final String LI_ENDINGS = "cdeghkmnrt";
     
     public static final Map<String, String> EXCEPTIONAL_FORMS = new HashMap<>(19);
     public static final Set<String> EXCEPTIONAL_FORMS_AFTER_STEP_1A = new HashSet<>(8);
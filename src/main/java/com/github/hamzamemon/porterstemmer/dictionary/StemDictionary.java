@@ -0,0 +1,251 @@
+package com.github.hamzamemon.porterstemmer.dictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped table of precomputed stems written by {@link StemDictionaryWriter}. Lookups binary search the sorted
+ * words off-heap and compare them with the given letters directly, so a lookup allocates nothing except the returned
+ * String. Instances are immutable and safe to use from multiple threads
+ */
+public final class StemDictionary {
+    
+    static final int MAGIC = 0x50534431;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 12;
+    
+    private final ByteBuffer data;
+    private final int count;
+    private final int tailOffsetsStart;
+    private final int sharedLengthsStart;
+    private final int wordPoolStart;
+    private final int tailPoolStart;
+    
+    /**
+     * Constructor for StemDictionary
+     *
+     * @param data the contents of a dictionary file
+     */
+    private StemDictionary(ByteBuffer data) {
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a stem dictionary");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported stem dictionary version " + data.getInt(4));
+        }
+        
+        this.data = data;
+        this.count = data.getInt(8);
+        this.tailOffsetsStart = HEADER_SIZE + (count + 1) * 4;
+        this.sharedLengthsStart = tailOffsetsStart + (count + 1) * 4;
+        this.wordPoolStart = sharedLengthsStart + count * 2;
+        this.tailPoolStart = wordPoolStart + getWordOffset(count) * 2;
+    }
+    
+    /**
+     * Memory-maps a dictionary file, which must not be changed while the dictionary is in use
+     *
+     * @param path the dictionary file
+     * @return the dictionary
+     * @throws IOException if the file cannot be mapped
+     */
+    public static StemDictionary open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new StemDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    
+    /**
+     * Gets the number of words in the dictionary
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return count;
+    }
+    
+    /**
+     * Gets the precomputed stem of a word
+     *
+     * @param word the word
+     * @return the stem, the same instance if it equals the word, or null if the word is not in the dictionary
+     */
+    public String get(String word) {
+        int index = indexOf(word);
+        if (index < 0) {
+            return null;
+        }
+        
+        if (getSharedLength(index) == word.length() && getTailLength(index) == 0) {
+            return word;
+        }
+        char[] stem = new char[getStemLength(index)];
+        copyStem(index, stem, 0);
+        return new String(stem);
+    }
+    
+    /**
+     * Finds a word
+     *
+     * @param word the word
+     * @return the index of the word, or -1 if it is not in the dictionary
+     */
+    public int indexOf(CharSequence word) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = low + high >>> 1;
+            int start = wordPoolStart + getWordOffset(middle) * 2;
+            int wordLength = getWordOffset(middle + 1) - getWordOffset(middle);
+            
+            int comparison = 0;
+            for (int i = 0, length = Math.min(wordLength, word.length()); i < length && comparison == 0; i++) {
+                comparison = Character.compare(data.getChar(start + i * 2), word.charAt(i));
+            }
+            if (comparison == 0) {
+                comparison = Integer.compare(wordLength, word.length());
+            }
+            
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Finds a word held in a char[] slice
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @return the index of the word, or -1 if it is not in the dictionary
+     */
+    public int indexOf(char[] word, int offset, int length) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = low + high >>> 1;
+            int start = wordPoolStart + getWordOffset(middle) * 2;
+            int wordLength = getWordOffset(middle + 1) - getWordOffset(middle);
+            
+            int comparison = 0;
+            for (int i = 0, shorter = Math.min(wordLength, length); i < shorter && comparison == 0; i++) {
+                comparison = Character.compare(data.getChar(start + i * 2), word[offset + i]);
+            }
+            if (comparison == 0) {
+                comparison = Integer.compare(wordLength, length);
+            }
+            
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Gets the number of letters in the stem of a word
+     *
+     * @param index the index of the word
+     * @return the length of the stem
+     */
+    public int getStemLength(int index) {
+        return getSharedLength(index) + getTailLength(index);
+    }
+    
+    /**
+     * Writes the stem of a word into a buffer. The stem starts with the letters the word starts with, so a buffer
+     * already holding the word only has the tail written
+     *
+     * @param index  the index of the word
+     * @param out    the buffer
+     * @param offset where the stem starts in the buffer
+     * @return the length of the stem
+     */
+    public int copyStem(int index, char[] out, int offset) {
+        int shared = getSharedLength(index);
+        int wordStart = wordPoolStart + getWordOffset(index) * 2;
+        for (int i = 0; i < shared; i++) {
+            out[offset + i] = data.getChar(wordStart + i * 2);
+        }
+        
+        int tailStart = tailPoolStart + getTailOffset(index) * 2;
+        int tailLength = getTailLength(index);
+        for (int i = 0; i < tailLength; i++) {
+            out[offset + shared + i] = data.getChar(tailStart + i * 2);
+        }
+        return shared + tailLength;
+    }
+    
+    /**
+     * Appends the stem of a word to an Appendable
+     *
+     * @param index the index of the word
+     * @param out   where the stem is appended
+     * @throws IOException if out cannot be appended to
+     */
+    public void appendStem(int index, Appendable out) throws IOException {
+        int shared = getSharedLength(index);
+        int wordStart = wordPoolStart + getWordOffset(index) * 2;
+        for (int i = 0; i < shared; i++) {
+            out.append(data.getChar(wordStart + i * 2));
+        }
+        
+        int tailStart = tailPoolStart + getTailOffset(index) * 2;
+        for (int i = 0, tailLength = getTailLength(index); i < tailLength; i++) {
+            out.append(data.getChar(tailStart + i * 2));
+        }
+    }
+    
+    /**
+     * Gets the start of a word in the word pool
+     *
+     * @param index the index of the word, count for the end of the pool
+     * @return the offset in chars
+     */
+    private int getWordOffset(int index) {
+        return data.getInt(HEADER_SIZE + index * 4);
+    }
+    
+    /**
+     * Gets the start of a stem tail in the tail pool
+     *
+     * @param index the index of the word, count for the end of the pool
+     * @return the offset in chars
+     */
+    private int getTailOffset(int index) {
+        return data.getInt(tailOffsetsStart + index * 4);
+    }
+    
+    /**
+     * Gets the number of letters in the tail of a stem
+     *
+     * @param index the index of the word
+     * @return the length of the tail
+     */
+    private int getTailLength(int index) {
+        return getTailOffset(index + 1) - getTailOffset(index);
+    }
+    
+    /**
+     * Gets the number of letters a stem shares with the start of its word
+     *
+     * @param index the index of the word
+     * @return the shared length
+     */
+    private int getSharedLength(int index) {
+        return data.getChar(sharedLengthsStart + index * 2);
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.hamzamemon.porterstemmer.dictionary;
+
+import com.github.hamzamemon.porterstemmer.stemming.StemmingEngine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Stems a vocabulary with the Porter Stemmer and writes the words and their stems to a binary file that
+ * {@link StemDictionary} memory-maps. The file holds, after a header of magic, version and word count:
+ * <ul>
+ *     <li>the start of every word in the word pool, plus its end, as ints</li>
+ *     <li>the start of every stem tail in the tail pool, plus its end, as ints</li>
+ *     <li>the number of letters every stem shares with the start of its word, as chars</li>
+ *     <li>the word pool, every word in sorted order, as chars</li>
+ *     <li>the tail pool, the letters of every stem after the shared letters, as chars</li>
+ * </ul>
+ * Most stems are a prefix of their word, so most tails are empty
+ */
+public final class StemDictionaryWriter {
+    
+    /**
+     * Writes the dictionary of a word list, one word per line, the first column of each line being the word
+     *
+     * @param args the word list and the dictionary file to write
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: StemDictionaryWriter <word list> <dictionary file>");
+            System.exit(1);
+        }
+        
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.trim().split("\\s+");
+                if (!columns[0].isEmpty()) {
+                    words.add(columns[0]);
+                }
+            }
+        }
+        
+        int count = write(words, Paths.get(args[1]));
+        System.out.println("Wrote " + count + " words to " + args[1]);
+    }
+    
+    /**
+     * Stems the words and writes their dictionary, replacing the file if it exists
+     *
+     * @param words  the words, duplicates are written once
+     * @param output the dictionary file
+     * @return the number of words written
+     * @throws IOException if the file cannot be written
+     */
+    public static int write(Collection<String> words, Path output) throws IOException {
+        // TreeSet orders by String.compareTo, the char order StemDictionary searches in
+        String[] sorted = new TreeSet<>(words).toArray(new String[0]);
+        int count = sorted.length;
+        StemmingEngine engine = new StemmingEngine();
+        
+        int[] wordOffsets = new int[count + 1];
+        int[] tailOffsets = new int[count + 1];
+        char[] sharedLengths = new char[count];
+        StringBuilder wordPool = new StringBuilder();
+        StringBuilder tailPool = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String word = sorted[i];
+            String stem = engine.stem(word);
+            
+            int shared = 0;
+            int maxShared = Math.min(Math.min(word.length(), stem.length()), Character.MAX_VALUE);
+            while (shared < maxShared && word.charAt(shared) == stem.charAt(shared)) {
+                shared++;
+            }
+            
+            wordOffsets[i] = wordPool.length();
+            tailOffsets[i] = tailPool.length();
+            sharedLengths[i] = (char) shared;
+            wordPool.append(word);
+            tailPool.append(stem, shared, stem.length());
+        }
+        wordOffsets[count] = wordPool.length();
+        tailOffsets[count] = tailPool.length();
+        
+        long size = StemDictionary.HEADER_SIZE + (count + 1L) * 8 + count * 2L
+                + (wordPool.length() + (long) tailPool.length()) * 2;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Dictionary would be " + size + " bytes, more than can be mapped at once");
+        }
+        
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(StemDictionary.MAGIC).putInt(StemDictionary.VERSION).putInt(count);
+        buffer.asIntBuffer().put(wordOffsets).put(tailOffsets);
+        buffer.position(buffer.position() + (count + 1) * 8);
+        buffer.asCharBuffer().put(sharedLengths).put(wordPool.toString()).put(tailPool.toString());
+        buffer.clear();
+        
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Constructor for StemDictionaryWriter
+     */
+    private StemDictionaryWriter() {
+    }
+}
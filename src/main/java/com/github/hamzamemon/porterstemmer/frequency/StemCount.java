@@ -0,0 +1,56 @@
+package com.github.hamzamemon.porterstemmer.frequency;
+
+/**
+ * A stem with the number of times it occurred and the number of documents it occurred in
+ */
+public final class StemCount {
+    
+    private final String stem;
+    private final long count;
+    private final long documentFrequency;
+    
+    /**
+     * Constructor for StemCount
+     *
+     * @param stem              the stem
+     * @param count             the number of occurrences
+     * @param documentFrequency the number of documents
+     */
+    public StemCount(String stem, long count, long documentFrequency) {
+        this.stem = stem;
+        this.count = count;
+        this.documentFrequency = documentFrequency;
+    }
+    
+    /**
+     * Gets the stem
+     *
+     * @return the stem
+     */
+    public String getStem() {
+        return stem;
+    }
+    
+    /**
+     * Gets the number of times the stem occurred
+     *
+     * @return the number of occurrences
+     */
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * Gets the number of documents the stem occurred in
+     *
+     * @return the number of documents
+     */
+    public long getDocumentFrequency() {
+        return documentFrequency;
+    }
+    
+    @Override
+    public String toString() {
+        return stem + "=" + count + " in " + documentFrequency + " documents";
+    }
+}
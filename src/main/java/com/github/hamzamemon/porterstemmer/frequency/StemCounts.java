@@ -0,0 +1,442 @@
+package com.github.hamzamemon.porterstemmer.frequency;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts of stems in an open-addressing table of longs over a char[] arena, so counting keeps no String, boxed count or
+ * map entry per stem. Besides the number of occurrences, each stem counts the documents it occurred in, a document
+ * being every stem added between two calls to {@link #endDocument()}.
+ * <p>
+ * Once maxStems distinct stems are counted, the half with the lowest counts is dropped before a new stem is added, so
+ * the table never grows past maxStems stems however many tokens are counted: about 42 bytes per stem plus 2 to 4 per
+ * letter, see {@link #getFootprint()}. The counts of frequent stems are then exact as long as they were never dropped,
+ * and {@link #getDroppedCount()} tells how many occurrences were lost. Counts must only be used by one thread
+ */
+public final class StemCounts {
+    
+    /**
+     * Largest number of distinct stems counted by default, about 16 MB of arrays for English stems
+     */
+    public static final int DEFAULT_MAX_STEMS = 1 << 18;
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private final int maxStems;
+    private long[] slots;
+    private int shift;
+    private int[] starts;
+    private char[] lengths;
+    private long[] counts;
+    private long[] documents;
+    private int[] lastDocuments;
+    private char[] arena;
+    private int size;
+    private int used;
+    private int document;
+    private long total;
+    private long dropped;
+    
+    /**
+     * Constructor for StemCounts, counting up to {@link #DEFAULT_MAX_STEMS} distinct stems
+     */
+    public StemCounts() {
+        this(DEFAULT_MAX_STEMS);
+    }
+    
+    /**
+     * Constructor for StemCounts
+     *
+     * @param maxStems the largest number of distinct stems counted before the least frequent are dropped
+     */
+    public StemCounts(int maxStems) {
+        if (maxStems <= 1) {
+            throw new IllegalArgumentException("maxStems must be greater than 1: " + maxStems);
+        }
+        
+        this.maxStems = maxStems;
+        allocate(Math.min(INITIAL_CAPACITY, maxStems), INITIAL_CAPACITY * 8);
+    }
+    
+    /**
+     * Replaces the arrays with empty ones
+     *
+     * @param capacity     the number of stems they hold
+     * @param arenaLetters the number of letters the arena holds
+     */
+    private void allocate(int capacity, int arenaLetters) {
+        int bits = 32 - Integer.numberOfLeadingZeros(capacity * 2 - 1);
+        slots = new long[1 << bits];
+        shift = 32 - bits;
+        starts = new int[capacity];
+        lengths = new char[capacity];
+        counts = new long[capacity];
+        documents = new long[capacity];
+        lastDocuments = new int[capacity];
+        arena = new char[arenaLetters];
+        size = 0;
+        used = 0;
+    }
+    
+    /**
+     * Hashes letters the way String.hashCode does
+     *
+     * @param letters the buffer holding the letters
+     * @param offset  the index of the first letter
+     * @param length  the number of letters
+     * @return the hash
+     */
+    private static int hash(char[] letters, int offset, int length) {
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + letters[i];
+        }
+        return hash;
+    }
+    
+    /**
+     * Finds the slot holding a stem, or the empty slot where it goes
+     *
+     * @param letters the buffer holding the stem
+     * @param offset  the index of the first letter
+     * @param length  the number of letters
+     * @param hash    the hash of the stem
+     * @return the slot
+     */
+    private int slotOf(char[] letters, int offset, int length, int hash) {
+        int mask = slots.length - 1;
+        for (int slot = (hash * 0x9E3779B9) >>> shift; ; slot = (slot + 1) & mask) {
+            long value = slots[slot];
+            if (value == 0) {
+                return slot;
+            }
+            
+            int entry = (int) value - 1;
+            if ((int) (value >>> 32) == hash && lengths[entry] == length
+                    && Arrays.equals(arena, starts[entry], starts[entry] + length, letters, offset, offset + length)) {
+                return slot;
+            }
+        }
+    }
+    
+    /**
+     * Counts one occurrence of a stem in the current document
+     *
+     * @param stem   the buffer holding the stem
+     * @param offset the index of the first letter
+     * @param length the number of letters, at most 65535
+     */
+    public void add(char[] stem, int offset, int length) {
+        int entry = entryOf(stem, offset, length);
+        counts[entry]++;
+        if (lastDocuments[entry] != document) {
+            lastDocuments[entry] = document;
+            documents[entry]++;
+        }
+        total++;
+    }
+    
+    /**
+     * Counts one occurrence of a stem in the current document
+     *
+     * @param stem the stem, at most 65535 letters
+     */
+    public void add(String stem) {
+        add(stem.toCharArray(), 0, stem.length());
+    }
+    
+    /**
+     * Gets the entry of a stem, adding it if it is new
+     *
+     * @param stem   the buffer holding the stem
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @return the entry
+     */
+    private int entryOf(char[] stem, int offset, int length) {
+        if (length > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Stem is longer than 65535 letters: " + length);
+        }
+        
+        int hash = hash(stem, offset, length);
+        int slot = slotOf(stem, offset, length, hash);
+        if (slots[slot] != 0) {
+            return (int) slots[slot] - 1;
+        }
+        
+        if (size == maxStems) {
+            dropLeastFrequent();
+            slot = slotOf(stem, offset, length, hash);
+        }
+        if (size == starts.length || used + length > arena.length) {
+            grow(length);
+            slot = slotOf(stem, offset, length, hash);
+        }
+        
+        int entry = size++;
+        slots[slot] = (long) hash << 32 | (entry + 1);
+        starts[entry] = used;
+        lengths[entry] = (char) length;
+        lastDocuments[entry] = -1;
+        System.arraycopy(stem, offset, arena, used, length);
+        used += length;
+        return entry;
+    }
+    
+    /**
+     * Makes room for a new stem, doubling the table up to maxStems stems and the arena as needed
+     *
+     * @param length the number of letters of the new stem
+     */
+    private void grow(int length) {
+        int capacity = size == starts.length ? Math.min(starts.length << 1, maxStems) : starts.length;
+        int arenaLetters = arena.length;
+        while (used + length > arenaLetters) {
+            arenaLetters <<= 1;
+        }
+        rebuild(capacity, arenaLetters, Long.MIN_VALUE, 0);
+    }
+    
+    /**
+     * Copies the stems counted more than a threshold into new arrays, as well as the first stems counted exactly the
+     * threshold
+     *
+     * @param capacity     the number of stems the new arrays hold
+     * @param arenaLetters the number of letters the new arena holds
+     * @param threshold    the count a stem must exceed to be kept
+     * @param ties         the number of stems counted exactly the threshold to keep
+     */
+    private void rebuild(int capacity, int arenaLetters, long threshold, int ties) {
+        int[] oldStarts = starts;
+        char[] oldLengths = lengths;
+        long[] oldCounts = counts;
+        long[] oldDocuments = documents;
+        int[] oldLastDocuments = lastDocuments;
+        char[] oldArena = arena;
+        int oldSize = size;
+        
+        allocate(capacity, arenaLetters);
+        for (int entry = 0; entry < oldSize; entry++) {
+            long count = oldCounts[entry];
+            if (count < threshold || count == threshold && ties-- <= 0) {
+                dropped += count;
+                continue;
+            }
+            
+            int start = oldStarts[entry];
+            int length = oldLengths[entry];
+            int hash = hash(oldArena, start, length);
+            int slot = slotOf(oldArena, start, length, hash);
+            int copy = size++;
+            slots[slot] = (long) hash << 32 | (copy + 1);
+            starts[copy] = used;
+            lengths[copy] = (char) length;
+            counts[copy] = count;
+            documents[copy] = oldDocuments[entry];
+            lastDocuments[copy] = oldLastDocuments[entry];
+            System.arraycopy(oldArena, start, arena, used, length);
+            used += length;
+        }
+    }
+    
+    /**
+     * Keeps the maxStems / 2 stems with the highest counts and drops the others
+     */
+    private void dropLeastFrequent() {
+        int keep = maxStems / 2;
+        long[] sorted = Arrays.copyOf(counts, size);
+        Arrays.sort(sorted);
+        long threshold = sorted[size - keep];
+        
+        int above = 0;
+        for (int i = size - 1; i >= 0 && sorted[i] > threshold; i--) {
+            above++;
+        }
+        rebuild(starts.length, arena.length, threshold, keep - above);
+    }
+    
+    /**
+     * Ends the current document, so the next stems count towards the document frequencies again
+     */
+    public void endDocument() {
+        document++;
+    }
+    
+    /**
+     * Adds the counts of other counts to these
+     *
+     * @param other the counts, which must come from different documents
+     */
+    public void addAll(StemCounts other) {
+        for (int entry = 0; entry < other.size; entry++) {
+            int merged = entryOf(other.arena, other.starts[entry], other.lengths[entry]);
+            counts[merged] += other.counts[entry];
+            documents[merged] += other.documents[entry];
+        }
+        total += other.total;
+        dropped += other.dropped;
+    }
+    
+    /**
+     * Gets the number of times a stem was counted
+     *
+     * @param stem the stem
+     * @return the number of occurrences, 0 if it was never counted or was dropped
+     */
+    public long getCount(String stem) {
+        char[] letters = stem.toCharArray();
+        long value = slots[slotOf(letters, 0, letters.length, hash(letters, 0, letters.length))];
+        return value == 0 ? 0 : counts[(int) value - 1];
+    }
+    
+    /**
+     * Gets the number of documents a stem was counted in
+     *
+     * @param stem the stem
+     * @return the number of documents, 0 if it was never counted or was dropped
+     */
+    public long getDocumentFrequency(String stem) {
+        char[] letters = stem.toCharArray();
+        long value = slots[slotOf(letters, 0, letters.length, hash(letters, 0, letters.length))];
+        return value == 0 ? 0 : documents[(int) value - 1];
+    }
+    
+    /**
+     * Gets the number of distinct stems counted
+     *
+     * @return the number of stems
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Gets the number of bytes of the arrays holding the stems and their counts, which is all the memory the counts
+     * keep per stem besides the array headers
+     *
+     * @return the number of bytes
+     */
+    public long getFootprint() {
+        return slots.length * 8L + starts.length * 26L + arena.length * 2L;
+    }
+    
+    /**
+     * Gets the number of occurrences counted, including those of dropped stems
+     *
+     * @return the number of occurrences
+     */
+    public long getTotal() {
+        return total;
+    }
+    
+    /**
+     * Gets the number of occurrences of the stems dropped to bound the memory
+     *
+     * @return the number of occurrences
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+    
+    /**
+     * Gets the most frequent stems, found with a heap of k entries instead of sorting every stem
+     *
+     * @param k the number of stems
+     * @return the stems, most frequent first, ties in no particular order
+     */
+    public List<StemCount> top(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        
+        // min-heap of entries by count, its root being the least frequent of the top k so far
+        int[] heap = new int[Math.min(k, size)];
+        int heapSize = 0;
+        for (int entry = 0; entry < size; entry++) {
+            if (heapSize < heap.length) {
+                heap[heapSize] = entry;
+                siftUp(heap, heapSize++);
+            } else if (heapSize > 0 && counts[entry] > counts[heap[0]]) {
+                heap[0] = entry;
+                siftDown(heap, heapSize);
+            }
+        }
+        
+        List<StemCount> top = new ArrayList<>(heapSize);
+        while (heapSize > 0) {
+            int entry = heap[0];
+            top.add(new StemCount(new String(arena, starts[entry], lengths[entry]), counts[entry], documents[entry]));
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize);
+        }
+        Collections.reverse(top);
+        return top;
+    }
+    
+    /**
+     * Moves the last entry of the heap up to its place
+     *
+     * @param heap  the heap
+     * @param index the index of the entry
+     */
+    private void siftUp(int[] heap, int index) {
+        int entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >> 1;
+            if (counts[heap[parent]] <= counts[entry]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+    
+    /**
+     * Moves the root of the heap down to its place
+     *
+     * @param heap     the heap
+     * @param heapSize the number of entries in the heap
+     */
+    private void siftDown(int[] heap, int heapSize) {
+        if (heapSize == 0) {
+            return;
+        }
+        
+        int entry = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && counts[heap[child + 1]] < counts[heap[child]]) {
+                child++;
+            }
+            if (counts[entry] <= counts[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = entry;
+    }
+    
+    /**
+     * Writes the most frequent stems, one per line as stem, count and document frequency separated by tabs
+     *
+     * @param out where the stems are written
+     * @param k   the number of stems
+     * @throws IOException if out cannot be appended to
+     */
+    public void writeTop(Appendable out, int k) throws IOException {
+        for (StemCount stemCount : top(k)) {
+            out.append(stemCount.getStem()).append('\t')
+                    .append(Long.toString(stemCount.getCount())).append('\t')
+                    .append(Long.toString(stemCount.getDocumentFrequency())).append('\n');
+        }
+    }
+}
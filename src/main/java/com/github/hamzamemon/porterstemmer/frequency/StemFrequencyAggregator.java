@@ -0,0 +1,188 @@
+package com.github.hamzamemon.porterstemmer.frequency;
+
+import com.github.hamzamemon.porterstemmer.stemming.StemmingEngine;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Stems token streams from any number of threads and counts the stems, without creating a String per token. Each
+ * thread stems into its own buffer and counts into its own {@link StemCounts}, so threads never contend, and the
+ * partial counts are merged by {@link #merge()} once every thread is done
+ */
+public final class StemFrequencyAggregator {
+    
+    private final int maxStems;
+    private final Queue<Partial> partials = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Partial> local = ThreadLocal.withInitial(this::newPartial);
+    
+    /**
+     * Constructor for StemFrequencyAggregator, counting up to {@link StemCounts#DEFAULT_MAX_STEMS} distinct stems
+     */
+    public StemFrequencyAggregator() {
+        this(StemCounts.DEFAULT_MAX_STEMS);
+    }
+    
+    /**
+     * Constructor for StemFrequencyAggregator
+     *
+     * @param maxStems the largest number of distinct stems each thread and the merged counts keep
+     */
+    public StemFrequencyAggregator(int maxStems) {
+        if (maxStems <= 1) {
+            throw new IllegalArgumentException("maxStems must be greater than 1: " + maxStems);
+        }
+        
+        this.maxStems = maxStems;
+    }
+    
+    /**
+     * Creates the partial counts of the calling thread
+     *
+     * @return the partial counts
+     */
+    private Partial newPartial() {
+        Partial partial = new Partial(new StemCounts(maxStems));
+        partials.add(partial);
+        return partial;
+    }
+    
+    /**
+     * Determines if a char separates tokens, matching the \s of String.split
+     *
+     * @param c the char
+     * @return if the char is whitespace
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f' || c == 0x0B;
+    }
+    
+    /**
+     * Stems and counts a token in the current document of the calling thread
+     *
+     * @param token  the buffer holding the token, which is not changed
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     */
+    public void add(char[] token, int offset, int length) {
+        Partial partial = local.get();
+        System.arraycopy(token, offset, partial.ensureCapacity(length), 0, length);
+        partial.count(length);
+    }
+    
+    /**
+     * Stems and counts a token in the current document of the calling thread
+     *
+     * @param token the token
+     */
+    public void add(CharSequence token) {
+        Partial partial = local.get();
+        int length = token.length();
+        char[] letters = partial.ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            letters[i] = token.charAt(i);
+        }
+        partial.count(length);
+    }
+    
+    /**
+     * Stems and counts every whitespace-separated token of a document, then ends the document
+     *
+     * @param text the document
+     */
+    public void addDocument(CharSequence text) {
+        Partial partial = local.get();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            
+            if (i > start) {
+                char[] letters = partial.ensureCapacity(i - start);
+                for (int j = start; j < i; j++) {
+                    letters[j - start] = text.charAt(j);
+                }
+                partial.count(i - start);
+            }
+        }
+        partial.counts.endDocument();
+    }
+    
+    /**
+     * Ends the current document of the calling thread, so its next tokens count towards the document frequencies again
+     */
+    public void endDocument() {
+        local.get().counts.endDocument();
+    }
+    
+    /**
+     * Merges the counts of every thread, which must all be done adding tokens
+     *
+     * @return the merged counts, bounded to maxStems distinct stems
+     */
+    public StemCounts merge() {
+        StemCounts merged = new StemCounts(maxStems);
+        for (Partial partial : partials) {
+            merged.addAll(partial.counts);
+        }
+        return merged;
+    }
+    
+    /**
+     * Gets the most frequent stems over every thread, which must all be done adding tokens
+     *
+     * @param k the number of stems
+     * @return the stems, most frequent first
+     */
+    public List<StemCount> top(int k) {
+        return merge().top(k);
+    }
+    
+    /**
+     * Engine, buffer and counts of one thread
+     */
+    private static final class Partial {
+        
+        private final StemmingEngine engine = new StemmingEngine();
+        private final StemCounts counts;
+        private char[] buffer = new char[32];
+        
+        /**
+         * Constructor for Partial
+         *
+         * @param counts the counts of the thread
+         */
+        Partial(StemCounts counts) {
+            this.counts = counts;
+        }
+        
+        /**
+         * Gets the buffer, grown to hold a token
+         *
+         * @param length the number of letters in the token
+         * @return the buffer
+         */
+        char[] ensureCapacity(int length) {
+            if (buffer.length < length) {
+                buffer = new char[Math.max(length, buffer.length << 1)];
+            }
+            return buffer;
+        }
+        
+        /**
+         * Stems the token in the buffer and counts its stem
+         *
+         * @param length the number of letters in the token
+         */
+        void count(int length) {
+            counts.add(buffer, 0, engine.stem(buffer, 0, length));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.hamzamemon.porterstemmer.io;
+
+import com.github.hamzamemon.porterstemmer.stemming.Utf8Stemmer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stems a UTF-8 text file by memory-mapping it and replacing every whitespace-separated token with its stem, the way
+ * splitting each line and calling PorterStemmer.stem would, without creating a String per line or token. Whitespace is
+ * copied to the output unchanged, as are tokens that are not valid UTF-8. A MappedFileStemmer reuses its buffers and
+ * must only be used by one thread
+ */
+public final class MappedFileStemmer {
+    
+    /**
+     * Number of bytes of the input mapped at once
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+    
+    private static final int OUTPUT_SIZE = 64 << 10;
+    
+    private final Utf8Stemmer stemmer = new Utf8Stemmer();
+    private final ByteBuffer output = ByteBuffer.allocateDirect(OUTPUT_SIZE);
+    private final int windowSize;
+    private WritableByteChannel channel;
+    
+    /**
+     * Constructor for MappedFileStemmer
+     */
+    public MappedFileStemmer() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+    
+    /**
+     * Constructor for MappedFileStemmer
+     *
+     * @param windowSize the number of bytes of the input mapped at once, longer tokens are split
+     */
+    public MappedFileStemmer(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        
+        this.windowSize = windowSize;
+    }
+    
+    /**
+     * Determines if a byte separates tokens, matching the \s of String.split
+     *
+     * @param b the byte
+     * @return if the byte is whitespace
+     */
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+    
+    /**
+     * Stems a file into another file, replacing it if it exists
+     *
+     * @param input  the file to stem
+     * @param output the file to write
+     * @return the number of tokens stemmed
+     * @throws IOException if a file cannot be read or written
+     */
+    public long stem(Path input, Path output) throws IOException {
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return stem(input, out);
+        }
+    }
+    
+    /**
+     * Stems a file into a channel, which is not closed
+     *
+     * @param input the file to stem
+     * @param out   where the stemmed text is written
+     * @return the number of tokens stemmed
+     * @throws IOException if the file cannot be read or the channel cannot be written
+     */
+    public long stem(Path input, WritableByteChannel out) throws IOException {
+        channel = out;
+        output.clear();
+        long tokens = 0;
+        
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(windowSize, size - position);
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+                ByteBuffer token = window.duplicate();
+                boolean last = position + length == size;
+                
+                int limit = (int) length;
+                int i = 0;
+                while (i < limit) {
+                    byte b = window.get(i);
+                    if (isWhitespace(b)) {
+                        write(b);
+                        i++;
+                        continue;
+                    }
+                    
+                    int start = i;
+                    while (i < limit && !isWhitespace(window.get(i))) {
+                        i++;
+                    }
+                    if (i == limit && !last && start > 0) {
+                        // the token may go on in the next window
+                        i = start;
+                        break;
+                    }
+                    
+                    token.limit(i).position(start);
+                    stemToken(token);
+                    tokens++;
+                }
+                position += i;
+            }
+            
+            flush();
+        } finally {
+            channel = null;
+        }
+        
+        return tokens;
+    }
+    
+    /**
+     * Stems one token of the mapped input and writes the stem
+     *
+     * @param token the bytes of the token between its position and limit
+     * @throws IOException if the output cannot be written
+     */
+    private void stemToken(ByteBuffer token) throws IOException {
+        int length = token.remaining();
+        if (output.remaining() < length) {
+            flush();
+        }
+        
+        if (output.remaining() < length) {
+            // the token is longer than the output buffer
+            ByteBuffer stem = ByteBuffer.allocate(length);
+            stemmer.stem(token, stem);
+            stem.flip();
+            while (stem.hasRemaining()) {
+                channel.write(stem);
+            }
+        } else {
+            stemmer.stem(token, output);
+        }
+    }
+    
+    /**
+     * Writes a byte to the output
+     *
+     * @param b the byte
+     * @throws IOException if the output cannot be written
+     */
+    private void write(byte b) throws IOException {
+        if (!output.hasRemaining()) {
+            flush();
+        }
+        output.put(b);
+    }
+    
+    /**
+     * Writes the buffered output to the channel
+     *
+     * @throws IOException if the output cannot be written
+     */
+    private void flush() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+        output.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.hamzamemon.porterstemmer.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds with one bucket per power of two, so recording is a few atomic adds and the
+ * percentiles are accurate to within a factor of two. Safe to use from multiple threads
+ */
+public final class LatencyHistogram {
+    
+    private static final int BUCKETS = 64;
+    
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    
+    /**
+     * Records a latency
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+        count.increment();
+        total.add(value);
+    }
+    
+    /**
+     * Gets the number of recorded latencies
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+    
+    /**
+     * Gets the mean of the recorded latencies
+     *
+     * @return the mean in nanoseconds, 0 if nothing was recorded
+     */
+    public double getMean() {
+        long recorded = count.sum();
+        return recorded == 0 ? 0 : (double) total.sum() / recorded;
+    }
+    
+    /**
+     * Gets an upper bound of a percentile of the recorded latencies
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the bucket holding the percentile in nanoseconds, 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            recorded += counts[i];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        
+        long rank = (long) Math.ceil(recorded * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(rank, 1)) {
+                // bucket i holds latencies below 2^i
+                return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+    
+    /**
+     * Removes every recorded latency
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+    }
+}
@@ -0,0 +1,192 @@
+package com.github.hamzamemon.porterstemmer.metrics;
+
+import com.github.hamzamemon.porterstemmer.cache.CacheStats;
+import com.github.hamzamemon.porterstemmer.stemming.PorterStemmer;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and per-step latencies of the stemming engines. Recording is switched on for the whole JVM with
+ * -Dporterstemmer.metrics=true, which also registers the {@link StemmerMetricsMXBean}. The engines check the static
+ * final {@link #ENABLED}, so when it is false the JIT removes the instrumentation entirely
+ */
+public final class StemmerMetrics implements StemmerMetricsMXBean {
+    
+    /**
+     * If the engines record metrics, read once from the porterstemmer.metrics system property
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("porterstemmer.metrics");
+    
+    /**
+     * Name the MXBean is registered under
+     */
+    public static final String OBJECT_NAME = "com.github.hamzamemon.porterstemmer:type=StemmerMetrics";
+    
+    private static final StemmerMetrics INSTANCE = new StemmerMetrics();
+    private static final LongAdder WORDS_STEMMED = new LongAdder();
+    private static final LongAdder EXCEPTIONAL_FORMS = new LongAdder();
+    private static final LongAdder EXCEPTIONAL_FORMS_AFTER_STEP_1A = new LongAdder();
+    private static final Map<Step, LatencyHistogram> STEP_LATENCIES = new EnumMap<>(Step.class);
+    
+    static {
+        for (Step step : Step.values()) {
+            STEP_LATENCIES.put(step, new LatencyHistogram());
+        }
+        if (ENABLED) {
+            registerMBean();
+        }
+    }
+    
+    /**
+     * Constructor for StemmerMetrics
+     */
+    private StemmerMetrics() {
+    }
+    
+    /**
+     * Gets the metrics
+     *
+     * @return the metrics
+     */
+    public static StemmerMetrics getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Registers the MXBean with the platform MBean server, if it is not registered yet
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+    
+    /**
+     * Records that the algorithm stemmed a word
+     */
+    public static void recordWord() {
+        WORDS_STEMMED.increment();
+    }
+    
+    /**
+     * Records that a word was an exceptional form
+     */
+    public static void recordExceptionalForm() {
+        EXCEPTIONAL_FORMS.increment();
+    }
+    
+    /**
+     * Records that a word was an exceptional form after Step 1a
+     */
+    public static void recordExceptionalFormAfterStep1a() {
+        EXCEPTIONAL_FORMS_AFTER_STEP_1A.increment();
+    }
+    
+    /**
+     * Records the time spent in a step
+     *
+     * @param step  the step
+     * @param start the System.nanoTime() when the step started
+     * @return the current System.nanoTime(), i.e. the start of the next step
+     */
+    public static long recordStep(Step step, long start) {
+        long now = System.nanoTime();
+        STEP_LATENCIES.get(step).record(now - start);
+        return now;
+    }
+    
+    /**
+     * Gets the latencies of a step
+     *
+     * @param step the step
+     * @return the histogram
+     */
+    public static LatencyHistogram getStepLatencies(Step step) {
+        return STEP_LATENCIES.get(step);
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+    
+    @Override
+    public long getWordsStemmed() {
+        return WORDS_STEMMED.sum();
+    }
+    
+    @Override
+    public long getExceptionalForms() {
+        return EXCEPTIONAL_FORMS.sum();
+    }
+    
+    @Override
+    public long getExceptionalFormsAfterStep1a() {
+        return EXCEPTIONAL_FORMS_AFTER_STEP_1A.sum();
+    }
+    
+    @Override
+    public Map<String, Double> getStepMeanNanos() {
+        Map<String, Double> means = new LinkedHashMap<>();
+        for (Map.Entry<Step, LatencyHistogram> entry : STEP_LATENCIES.entrySet()) {
+            means.put(entry.getKey().name(), entry.getValue().getMean());
+        }
+        return means;
+    }
+    
+    @Override
+    public Map<String, Long> getStepP99Nanos() {
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        for (Map.Entry<Step, LatencyHistogram> entry : STEP_LATENCIES.entrySet()) {
+            percentiles.put(entry.getKey().name(), entry.getValue().getPercentile(99));
+        }
+        return percentiles;
+    }
+    
+    @Override
+    public int getCacheSize() {
+        return PorterStemmer.getCacheStats().getSize();
+    }
+    
+    @Override
+    public double getCacheHitRate() {
+        return PorterStemmer.getCacheStats().getHitRate();
+    }
+    
+    @Override
+    public long getCacheEvictions() {
+        return PorterStemmer.getCacheStats().getEvictions();
+    }
+    
+    /**
+     * Gets the counters of the cache of the default stemmer
+     *
+     * @return the counters
+     */
+    public CacheStats getCacheStats() {
+        return PorterStemmer.getCacheStats();
+    }
+    
+    @Override
+    public void reset() {
+        WORDS_STEMMED.reset();
+        EXCEPTIONAL_FORMS.reset();
+        EXCEPTIONAL_FORMS_AFTER_STEP_1A.reset();
+        for (LatencyHistogram histogram : STEP_LATENCIES.values()) {
+            histogram.reset();
+        }
+    }
+}
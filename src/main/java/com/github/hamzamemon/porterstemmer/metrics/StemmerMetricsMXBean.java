@@ -0,0 +1,77 @@
+package com.github.hamzamemon.porterstemmer.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link StemmerMetrics} and of the cache of the default stemmer
+ */
+public interface StemmerMetricsMXBean {
+    
+    /**
+     * Gets if the stemming engines are instrumented
+     *
+     * @return if metrics are recorded
+     */
+    boolean isEnabled();
+    
+    /**
+     * Gets the number of words stemmed by the algorithm, i.e. not served by a cache or dictionary
+     *
+     * @return the number of words
+     */
+    long getWordsStemmed();
+    
+    /**
+     * Gets the number of words that were exceptional forms
+     *
+     * @return the number of words
+     */
+    long getExceptionalForms();
+    
+    /**
+     * Gets the number of words that were exceptional forms after Step 1a
+     *
+     * @return the number of words
+     */
+    long getExceptionalFormsAfterStep1a();
+    
+    /**
+     * Gets the mean time spent in each step
+     *
+     * @return the mean in nanoseconds by step name
+     */
+    Map<String, Double> getStepMeanNanos();
+    
+    /**
+     * Gets the 99th percentile of the time spent in each step
+     *
+     * @return the upper bound in nanoseconds by step name
+     */
+    Map<String, Long> getStepP99Nanos();
+    
+    /**
+     * Gets the number of words in the cache of the default stemmer
+     *
+     * @return the cache size
+     */
+    int getCacheSize();
+    
+    /**
+     * Gets the hit rate of the cache of the default stemmer
+     *
+     * @return the hit rate
+     */
+    double getCacheHitRate();
+    
+    /**
+     * Gets the number of evictions from the cache of the default stemmer
+     *
+     * @return the evictions
+     */
+    long getCacheEvictions();
+    
+    /**
+     * Removes every recorded count and latency
+     */
+    void reset();
+}
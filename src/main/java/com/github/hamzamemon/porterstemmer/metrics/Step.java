@@ -0,0 +1,13 @@
+package com.github.hamzamemon.porterstemmer.metrics;
+
+/**
+ * Steps of the Porter Stemmer algorithm that are timed separately
+ */
+public enum Step {
+    
+    STEP_0,
+    STEP_1A,
+    STEP_1BC,
+    STEP_2_TO_4,
+    STEP_5
+}
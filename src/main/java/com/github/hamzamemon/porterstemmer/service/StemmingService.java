@@ -0,0 +1,427 @@
+package com.github.hamzamemon.porterstemmer.service;
+
+import com.github.hamzamemon.porterstemmer.metrics.LatencyHistogram;
+import com.github.hamzamemon.porterstemmer.stemming.PorterStemmer;
+import com.github.hamzamemon.porterstemmer.stemming.Stemmer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embeddable service that stems requests from many threads or connections by coalescing them into micro-batches. A
+ * small pool of batcher threads takes batches off the queue of waiting requests, and each stems every distinct word of
+ * its batch once with {@link Stemmer#stem(String)}, so a word goes through the stemmer's dictionary and cache like any
+ * other call and repeated words across requests are stemmed once. At most a fixed number of requests wait for a batch,
+ * later ones are rejected instead of queueing without bound.
+ * <p>
+ * {@link #start(int)} also serves a line protocol on the loopback address: each line of whitespace-separated words is
+ * answered by a line of their stems separated by single spaces, or by {@value #BUSY} if the request was rejected.
+ * Connections are served by virtual threads when the JVM has them and by a cached thread pool otherwise
+ */
+public final class StemmingService implements AutoCloseable {
+    
+    /**
+     * Largest number of words stemmed in one batch, unless a single request holds more
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+    
+    /**
+     * Largest number of requests waiting for a batch
+     */
+    public static final int DEFAULT_MAX_PENDING_REQUESTS = 4096;
+    
+    /**
+     * Line sent instead of the stems of a rejected request
+     */
+    public static final String BUSY = "!busy";
+    
+    private final Stemmer stemmer;
+    private final int maxBatchSize;
+    private final BlockingQueue<Request> pending;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final Thread[] batchers;
+    private volatile boolean running = true;
+    private ServerSocket serverSocket;
+    private ExecutorService connections;
+    
+    /**
+     * Constructor for StemmingService, stemming with the default stemmer of PorterStemmer
+     */
+    public StemmingService() {
+        this(PorterStemmer.getDefault(), DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_PENDING_REQUESTS);
+    }
+    
+    /**
+     * Constructor for StemmingService, with one batcher thread per processor
+     *
+     * @param stemmer            the stemmer, whose cache is shared by every request
+     * @param maxBatchSize       the largest number of words stemmed in one batch
+     * @param maxPendingRequests the largest number of requests waiting for a batch
+     */
+    public StemmingService(Stemmer stemmer, int maxBatchSize, int maxPendingRequests) {
+        this(stemmer, maxBatchSize, maxPendingRequests, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Constructor for StemmingService
+     *
+     * @param stemmer            the stemmer, whose cache is shared by every request
+     * @param maxBatchSize       the largest number of words stemmed in one batch
+     * @param maxPendingRequests the largest number of requests waiting for a batch
+     * @param batcherThreads     the number of threads stemming batches at the same time
+     */
+    public StemmingService(Stemmer stemmer, int maxBatchSize, int maxPendingRequests, int batcherThreads) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        if (maxPendingRequests <= 0) {
+            throw new IllegalArgumentException("maxPendingRequests must be positive: " + maxPendingRequests);
+        }
+        if (batcherThreads <= 0) {
+            throw new IllegalArgumentException("batcherThreads must be positive: " + batcherThreads);
+        }
+        
+        this.stemmer = stemmer;
+        this.maxBatchSize = maxBatchSize;
+        pending = new ArrayBlockingQueue<>(maxPendingRequests);
+        batchers = new Thread[batcherThreads];
+        for (int i = 0; i < batcherThreads; i++) {
+            batchers[i] = new Thread(this::runBatches, "stemming-service-batcher-" + i);
+            batchers[i].setDaemon(true);
+            batchers[i].start();
+        }
+    }
+    
+    /**
+     * Creates the executor serving connections, one virtual thread per connection if the JVM supports them
+     *
+     * @return the executor
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "stemming-service-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    /**
+     * Queues words to be stemmed in the next batch
+     *
+     * @param words the words
+     * @return the stems of the words, or a future failed with RejectedExecutionException if too many requests are
+     *         waiting or the service is closed
+     */
+    public CompletableFuture<String[]> submit(String... words) {
+        Request request = new Request(words);
+        // a request queued while the service closes is rejected here unless close already took it
+        if (running && pending.offer(request) && (running || !pending.remove(request))) {
+            return request.stems;
+        }
+        
+        rejected.increment();
+        request.stems.completeExceptionally(new RejectedExecutionException(
+                running ? "Stemming service is busy" : "Stemming service is closed"));
+        return request.stems;
+    }
+    
+    /**
+     * Serves the line protocol on a loopback port
+     *
+     * @param port the port, 0 to pick a free one
+     * @return the port
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized int start(int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Stemming service is already listening on " + serverSocket.getLocalPort());
+        }
+        
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        connections = newConnectionExecutor();
+        Thread acceptor = new Thread(this::acceptConnections, "stemming-service-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return serverSocket.getLocalPort();
+    }
+    
+    /**
+     * Accepts connections until the server socket is closed
+     */
+    private void acceptConnections() {
+        try {
+            while (running) {
+                Socket socket = serverSocket.accept();
+                openSockets.add(socket);
+                connections.execute(() -> serve(socket));
+            }
+        } catch (IOException | RejectedExecutionException e) {
+            // the service was closed
+        }
+    }
+    
+    /**
+     * Answers each line of a connection with the stems of its words
+     *
+     * @param socket the connection
+     */
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                writer.write(answer(line.trim()));
+                writer.newLine();
+                
+                // flush once the pipelined requests are answered
+                if (!reader.ready()) {
+                    writer.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // the client disconnected or the service was closed
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+    
+    /**
+     * Stems the words of a line of the protocol
+     *
+     * @param line the line, trimmed
+     * @return the stems separated by single spaces, or {@value #BUSY} if the request was rejected
+     * @throws InterruptedException if the thread is interrupted while waiting for the stems
+     */
+    private String answer(String line) throws InterruptedException {
+        if (line.isEmpty()) {
+            return line;
+        }
+        
+        try {
+            return String.join(" ", submit(line.split("\\s+")).get());
+        } catch (ExecutionException e) {
+            return BUSY;
+        }
+    }
+    
+    /**
+     * Stems the waiting requests in batches until the service is closed
+     */
+    private void runBatches() {
+        Map<String, String> batchStems = new HashMap<>();
+        List<Request> batch = new ArrayList<>();
+        Request next = null;
+        while (running) {
+            try {
+                Request first = next != null ? next : pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                
+                batch.add(first);
+                int words = first.words.length;
+                // other batchers poll the same queue, so a request that does not fit is kept to start the next batch
+                while ((next = pending.poll()) != null && words + next.words.length <= maxBatchSize) {
+                    batch.add(next);
+                    words += next.words.length;
+                }
+                stemBatch(batch, words, batchStems);
+                batch.clear();
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        
+        RejectedExecutionException closed = new RejectedExecutionException("Stemming service is closed");
+        if (next != null) {
+            batch.add(next);
+        }
+        for (Request request : batch) {
+            request.stems.completeExceptionally(closed);
+        }
+        rejectPending();
+    }
+    
+    /**
+     * Fails the requests still waiting for a batch once the service is closed
+     */
+    private void rejectPending() {
+        Request request;
+        while ((request = pending.poll()) != null) {
+            rejected.increment();
+            request.stems.completeExceptionally(new RejectedExecutionException("Stemming service is closed"));
+        }
+    }
+    
+    /**
+     * Stems the words of a batch of requests at once and completes each request
+     *
+     * @param batch      the requests
+     * @param words      the number of words in the requests
+     * @param batchStems scratch map of the calling batcher, empty
+     */
+    private void stemBatch(List<Request> batch, int words, Map<String, String> batchStems) {
+        String[] stems = new String[words];
+        int offset = 0;
+        for (Request request : batch) {
+            System.arraycopy(request.words, 0, stems, offset, request.words.length);
+            offset += request.words.length;
+        }
+        
+        try {
+            stemDistinct(stems, batchStems);
+        } catch (RuntimeException e) {
+            for (Request request : batch) {
+                request.stems.completeExceptionally(e);
+            }
+            return;
+        }
+        
+        batches.increment();
+        offset = 0;
+        for (Request request : batch) {
+            int end = offset + request.words.length;
+            request.stems.complete(Arrays.copyOfRange(stems, offset, end));
+            latencies.record(System.nanoTime() - request.submitted);
+            offset = end;
+        }
+    }
+    
+    /**
+     * Stems the words of a batch in place, each distinct word once with {@link Stemmer#stem(String)}
+     *
+     * @param words      the words of the batch
+     * @param batchStems scratch map of the calling batcher, empty
+     */
+    private void stemDistinct(String[] words, Map<String, String> batchStems) {
+        try {
+            for (int i = 0; i < words.length; i++) {
+                String word = words[i];
+                String stem = batchStems.get(word);
+                if (stem == null) {
+                    stem = stemmer.stem(word);
+                    batchStems.put(word, stem);
+                }
+                words[i] = stem;
+            }
+        } finally {
+            batchStems.clear();
+        }
+    }
+    
+    /**
+     * Gets the latencies from submitting a request to its stems being ready
+     *
+     * @return the latencies, with p50 and p99 from {@link LatencyHistogram#getPercentile(double)}
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+    
+    /**
+     * Gets the number of requests rejected because too many were waiting or the service was closed
+     *
+     * @return the number of requests
+     */
+    public long getRejectedRequests() {
+        return rejected.sum();
+    }
+    
+    /**
+     * Gets the number of batches stemmed
+     *
+     * @return the number of batches
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+    
+    /**
+     * Stops listening, closes the connections and rejects the requests still waiting
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                // already closed
+            }
+            for (Socket socket : openSockets) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // already closed
+                }
+            }
+            connections.shutdownNow();
+        }
+        
+        for (Thread batcher : batchers) {
+            batcher.interrupt();
+        }
+        try {
+            for (Thread batcher : batchers) {
+                batcher.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectPending();
+    }
+    
+    /**
+     * Words waiting to be stemmed and the future their stems complete
+     */
+    private static final class Request {
+        
+        private final String[] words;
+        private final long submitted = System.nanoTime();
+        private final CompletableFuture<String[]> stems = new CompletableFuture<>();
+        
+        /**
+         * Constructor for Request
+         *
+         * @param words the words
+         */
+        private Request(String[] words) {
+            this.words = words;
+        }
+    }
+}
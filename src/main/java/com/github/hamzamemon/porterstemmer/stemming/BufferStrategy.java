@@ -0,0 +1,16 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+/**
+ * How a stemmer provides the {@link StemmingEngine} and scratch buffer that stem a word
+ */
+public enum BufferStrategy {
+    
+    // One engine per thread, kept for the life of the thread
+    THREAD_LOCAL,
+    
+    // One engine shared by every thread, which take turns using it
+    SHARED,
+    
+    // A new engine for every call, nothing is kept between calls
+    PER_CALL
+}
@@ -0,0 +1,217 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import com.github.hamzamemon.porterstemmer.cache.ArenaStemCache;
+import com.github.hamzamemon.porterstemmer.cache.NoStemCache;
+import com.github.hamzamemon.porterstemmer.cache.StemCache;
+import com.github.hamzamemon.porterstemmer.dictionary.StemDictionary;
+import com.github.hamzamemon.porterstemmer.util.WordMethods;
+
+import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link Stemmer} looking words up in its dictionary, if any, then in its cache, and stemming misses with engines
+ * provided by its buffer strategy. Only an {@link ArenaStemCache} is used for char[] words, as it needs no Strings
+ */
+final class DefaultStemmer implements Stemmer {
+    
+    private final StemCache cache;
+    private final ArenaStemCache arenaCache;
+    private final BufferStrategy bufferStrategy;
+    private final ThreadLocal<StemmingEngine> engines;
+    private final StemmingEngine sharedEngine;
+    private final ReentrantLock sharedLock;
+    private final StemDictionary dictionary;
+    
+    /**
+     * Constructor for DefaultStemmer
+     *
+     * @param cache          the cache
+     * @param bufferStrategy how engines are provided
+     * @param dictionary     the precomputed stems, or null
+     */
+    DefaultStemmer(StemCache cache, BufferStrategy bufferStrategy, StemDictionary dictionary) {
+        this.cache = cache;
+        this.arenaCache = cache instanceof ArenaStemCache ? (ArenaStemCache) cache : null;
+        this.dictionary = dictionary;
+        this.bufferStrategy = bufferStrategy;
+        this.engines = bufferStrategy == BufferStrategy.THREAD_LOCAL ? ThreadLocal.withInitial(StemmingEngine::new) : null;
+        this.sharedEngine = bufferStrategy == BufferStrategy.SHARED ? new StemmingEngine() : null;
+        this.sharedLock = bufferStrategy == BufferStrategy.SHARED ? new ReentrantLock() : null;
+    }
+    
+    /**
+     * Gets an engine for the calling thread, which must call release once it is done with it
+     *
+     * @return the engine
+     */
+    private StemmingEngine acquire() {
+        switch (bufferStrategy) {
+            case THREAD_LOCAL:
+                return engines.get();
+            case SHARED:
+                sharedLock.lock();
+                return sharedEngine;
+            default:
+                return new StemmingEngine();
+        }
+    }
+    
+    /**
+     * Gives back the engine of the calling thread
+     */
+    private void release() {
+        if (sharedLock != null) {
+            sharedLock.unlock();
+        }
+    }
+    
+    @Override
+    public String stem(String word) {
+        if (word.length() <= 2) {
+            return word;
+        }
+        if (dictionary != null) {
+            String stem = dictionary.get(word);
+            if (stem != null) {
+                return stem;
+            }
+        }
+        
+        String stem = cache.get(word);
+        if (stem == null) {
+            StemmingEngine engine = acquire();
+            try {
+                stem = engine.stem(word);
+            } finally {
+                release();
+            }
+            cache.put(word, stem);
+        }
+        
+        return stem;
+    }
+    
+    @Override
+    public String stem(String word, StemmingMode mode) {
+        if (mode == StemmingMode.FULL) {
+            return stem(word);
+        }
+        
+        StemmingEngine engine = acquire();
+        try {
+            return engine.stem(word, mode);
+        } finally {
+            release();
+        }
+    }
+    
+    @Override
+    public int stem(char[] word, int offset, int length) {
+        if (dictionary != null) {
+            int index = dictionary.indexOf(word, offset, length);
+            if (index >= 0) {
+                return dictionary.copyStem(index, word, offset);
+            }
+        }
+        if (arenaCache != null && length > 2) {
+            int stemLength = arenaCache.get(word, offset, length, word, offset);
+            if (stemLength >= 0) {
+                return stemLength;
+            }
+        }
+        
+        StemmingEngine engine = acquire();
+        try {
+            return engine.stem(word, offset, length, arenaCache);
+        } finally {
+            release();
+        }
+    }
+    
+    @Override
+    public int stem(char[] word, int offset, int length, StemmingMode mode) {
+        if (mode == StemmingMode.FULL) {
+            return stem(word, offset, length);
+        }
+        
+        StemmingEngine engine = acquire();
+        try {
+            return engine.stem(word, offset, length, mode);
+        } finally {
+            release();
+        }
+    }
+    
+    @Override
+    public String stemNormalized(String word) {
+        if (WordMethods.isNormalized(word)) {
+            return stem(word);
+        }
+        if (dictionary != null || !(cache instanceof NoStemCache)) {
+            // the dictionary and cache are keyed by the normalized word
+            return stem(WordMethods.normalize(word));
+        }
+        
+        StemmingEngine engine = acquire();
+        try {
+            return engine.stemNormalized(word);
+        } finally {
+            release();
+        }
+    }
+    
+    @Override
+    public int stemNormalized(char[] word, int offset, int length) {
+        // the stem overwrites the word anyway, so it can be normalized where it is
+        WordMethods.normalize(word, offset, length);
+        return stem(word, offset, length);
+    }
+    
+    @Override
+    public void stem(CharSequence word, Appendable out) throws IOException {
+        if (dictionary != null) {
+            int index = dictionary.indexOf(word);
+            if (index >= 0) {
+                dictionary.appendStem(index, out);
+                return;
+            }
+        }
+        
+        StemmingEngine engine = acquire();
+        try {
+            engine.stem(word, out);
+        } finally {
+            release();
+        }
+    }
+    
+    @Override
+    public void stemAll(String[] words, String[] stems) {
+        if (stems.length < words.length) {
+            throw new IllegalArgumentException("Output holds " + stems.length + " stems for " + words.length + " words");
+        }
+        
+        StemmingEngine engine = acquire();
+        try {
+            engine.stemAll(words, 0, words.length, stems, dictionary);
+        } finally {
+            release();
+        }
+    }
+    
+    @Override
+    public StemCache getCache() {
+        return cache;
+    }
+    
+    /**
+     * Creates a stemmer like this one but with another cache
+     *
+     * @param newCache the cache
+     * @return the stemmer, with the same buffer strategy and dictionary as this one
+     */
+    DefaultStemmer withCache(StemCache newCache) {
+        return new DefaultStemmer(newCache, bufferStrategy, dictionary);
+    }
+}
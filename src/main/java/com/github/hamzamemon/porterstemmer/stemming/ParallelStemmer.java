@@ -0,0 +1,169 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stems large batches of words on a {@link ForkJoinPool}. The batch is split into chunks, and every worker thread
+ * stems its chunks with its own {@link StemmingEngine}, so workers share no buffers or caches. Stems are written at
+ * the index of their word, which keeps the output in input order. Engines are thread locals and stats are kept per
+ * index of the worker in the pool, so threads the pool retires are not held on to
+ */
+public final class ParallelStemmer {
+    
+    /**
+     * Number of words a worker stems without splitting them further
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+    
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final ThreadLocal<StemmingEngine> engines = ThreadLocal.withInitial(StemmingEngine::new);
+    private final Map<Integer, Worker> workers = new ConcurrentHashMap<>();
+    
+    /**
+     * Constructor for ParallelStemmer, using the common pool
+     */
+    public ParallelStemmer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * Constructor for ParallelStemmer
+     *
+     * @param pool      the pool running the workers
+     * @param chunkSize the number of words a worker stems without splitting them further
+     */
+    public ParallelStemmer(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * Stems a batch of words in parallel
+     *
+     * @param words the words
+     * @param stems where the stem of each word is written, may be the same array as words
+     */
+    public void stemAll(String[] words, String[] stems) {
+        if (stems.length < words.length) {
+            throw new IllegalArgumentException("Output holds " + stems.length + " stems for " + words.length + " words");
+        }
+        
+        pool.invoke(new StemTask(words, stems, 0, words.length));
+    }
+    
+    /**
+     * Stems a batch of words in parallel
+     *
+     * @param words the words
+     * @return the stem of each word, in order
+     */
+    public List<String> stemAll(List<String> words) {
+        String[] stems = words.toArray(new String[0]);
+        stemAll(stems, stems);
+        return Arrays.asList(stems);
+    }
+    
+    /**
+     * Gets the words stemmed and the time spent by each worker of the pool that has worked for this stemmer. A thread
+     * the pool starts in place of a retired one adds to the stats of its index, and threads outside the pool that help
+     * with a batch are counted together
+     *
+     * @return the stats of each worker, named after the last thread that worked at its index
+     */
+    public List<WorkerStats> getWorkerStats() {
+        List<WorkerStats> stats = new ArrayList<>(workers.size());
+        for (Worker worker : workers.values()) {
+            synchronized (worker) {
+                stats.add(new WorkerStats(worker.threadName, worker.words, worker.nanos));
+            }
+        }
+        return stats;
+    }
+    
+    /**
+     * Forgets the workers and their stats, e.g. between two corpora
+     */
+    public void resetWorkerStats() {
+        workers.clear();
+    }
+    
+    /**
+     * Gets the index the stats of the calling thread are kept at
+     *
+     * @return the index of the thread in the pool, or -1 for a thread outside it
+     */
+    private int workerIndex() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == pool) {
+            return ((ForkJoinWorkerThread) thread).getPoolIndex();
+        }
+        return -1;
+    }
+    
+    /**
+     * Counters of one worker index, updated under its lock
+     */
+    private static final class Worker {
+        
+        private String threadName;
+        private long words;
+        private long nanos;
+    }
+    
+    /**
+     * Stems a range of the batch, splitting it in half while it is larger than a chunk
+     */
+    private final class StemTask extends RecursiveAction {
+        
+        private final String[] words;
+        private final String[] stems;
+        private final int from;
+        private final int to;
+        
+        /**
+         * Constructor for StemTask
+         *
+         * @param words the words
+         * @param stems where the stems are written
+         * @param from  the index of the first word
+         * @param to    the index after the last word
+         */
+        StemTask(String[] words, String[] stems, int from, int to) {
+            this.words = words;
+            this.stems = stems;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > chunkSize) {
+                int middle = from + to >>> 1;
+                invokeAll(new StemTask(words, stems, from, middle), new StemTask(words, stems, middle, to));
+                return;
+            }
+            
+            Worker worker = workers.computeIfAbsent(workerIndex(), index -> new Worker());
+            long start = System.nanoTime();
+            engines.get().stemAll(words, from, to, stems);
+            long elapsed = System.nanoTime() - start;
+            synchronized (worker) {
+                worker.threadName = Thread.currentThread().getName();
+                worker.words += to - from;
+                worker.nanos += elapsed;
+            }
+        }
+    }
+}
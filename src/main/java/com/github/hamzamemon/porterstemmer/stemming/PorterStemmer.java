@@ -1,374 +1,178 @@
 package com.github.hamzamemon.porterstemmer.stemming;
 
-import com.github.hamzamemon.porterstemmer.constants.PorterStemmerConstants;
-import com.github.hamzamemon.porterstemmer.suffixes.Step2Suffixes;
-import com.github.hamzamemon.porterstemmer.suffixes.Step3Suffixes;
-import com.github.hamzamemon.porterstemmer.suffixes.Step4Suffixes;
-import com.github.hamzamemon.porterstemmer.util.WordMethods;
+import com.github.hamzamemon.porterstemmer.cache.CacheStats;
+import com.github.hamzamemon.porterstemmer.cache.StemCache;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * This class does the Porter Stemmer algorithm (http://snowball.tartarus.org/algorithms/english/stemmer.html)
+ * through a default {@link Stemmer} shared by the whole JVM. Use {@link Stemmer#builder()} for a stemmer with its own
+ * cache
  */
 public final class PorterStemmer {
     
-    private static final Step2Suffixes[] STEP_2_SUFFIXES = Step2Suffixes.values();
-    private static final Step3Suffixes[] STEP_3_SUFFIXES = Step3Suffixes.values();
-    private static final Step4Suffixes[] STEP_4_SUFFIXES = Step4Suffixes.values();
-    private static final Pattern VOWEL_NOT_IMMEDIATELY_BEFORE_S = Pattern.compile("^.*[" + PorterStemmerConstants.VOWELS + "].+s$");
-    private static Map<String, String> stems = new HashMap<>();
+    /**
+     * Number of words kept by the default cache
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 65536;
+    
+    private static volatile Stemmer stemmer = Stemmer.builder().build();
     
     /**
-     * R1 is the substring after the first consonant following a vowel
+     * Does the stemming helper method, determines if the word has been stemmed before
      *
-     * @param term the word
-     * @return the index
+     * @param termS the word
+     * @return the stemmed word
      */
-    private static int getStartIndexOfR1(StringBuilder term) {
-        String termS = term.toString();
-        
-        if (termS.startsWith("gener") || termS.startsWith("arsen")) {
-            return 5;
-        }
-        if (termS.startsWith("commun")) {
-            return 6;
-        }
-        
-        return getIndexOfVowelAfterConsonant(term, 0);
+    public static String stem(String termS) {
+        return stemmer.stem(termS);
     }
     
     /**
-     * R2 is the substring after the first consonant following a vowel in R1
+     * Stems a word, running only the steps of a mode
      *
-     * @param term the word
-     * @return the index
+     * @param termS the word
+     * @param mode  which steps are run, {@link StemmingMode#FULL} being the same as {@link #stem(String)}
+     * @return the stemmed word
      */
-    private static int getStartIndexOfR2(StringBuilder term, int r1) {
-        return getIndexOfVowelAfterConsonant(term, r1);
+    public static String stem(String termS, StemmingMode mode) {
+        return stemmer.stem(termS, mode);
     }
     
     /**
-     * Gets index of vowel after consonant
+     * Stems a word in place after looking it up in the dictionary of the default stemmer, if it has one. The cache is
+     * read and written only when the cache policy is {@code ARENA}, as that cache needs no Strings; other caches are
+     * bypassed
      *
-     * @param term  the term
-     * @param start the starting position (i)
-     * @return the index
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @return the number of letters in the stemmed word, which starts at offset
      */
-    private static int getIndexOfVowelAfterConsonant(StringBuilder term, int start) {
-        String termS = term.toString();
-        int i = start;
-        int length = term.length();
-        while (i < length && PorterStemmerConstants.VOWELS.indexOf(termS.charAt(i)) < 0) {
-            i++;
-        }
-        while (i < length && PorterStemmerConstants.VOWELS.indexOf(termS.charAt(i)) >= 0) {
-            i++;
-        }
-        
-        return i;
+    public static int stem(char[] word, int offset, int length) {
+        return stemmer.stem(word, offset, length);
     }
     
     /**
-     * Performs the algorithm steps
+     * Stems a word in place, running only the steps of a mode
      *
-     * @param termS the word
-     * @return the stemmed word
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @param mode   which steps are run
+     * @return the number of letters in the stemmed word, which starts at offset
      */
-    private static String makeStem(String termS) {
-        if (termS.charAt(0) == '\'') {
-            termS = termS.substring(1);
-        }
-        if (PorterStemmerConstants.EXCEPTIONAL_FORMS.containsKey(termS)) {
-            return PorterStemmerConstants.EXCEPTIONAL_FORMS.get(termS);
-        }
-        
-        StringBuilder term = new StringBuilder(termS);
-        WordMethods.setCapitalYs(term);
-        int r1 = getStartIndexOfR1(term);
-        int r2 = getStartIndexOfR2(term, r1);
-        doStep0(term);
-        if (term.toString().isEmpty()) {
-            return "";
-        }
-        
-        doStep1a(term);
-        
-        String termToString = term.toString();
-        
-        if (PorterStemmerConstants.EXCEPTIONAL_FORMS_AFTER_STEP_1A.contains(termToString)) {
-            return termToString;
-        }
-        
-        doStep1bc(term, r1);
-        doStep1c(term);
-        doStep2To4(term, r1, r2);
-        doStep5(term, r1, r2);
-        
-        termToString = term.toString();
-        return termToString.replace("Y", "y");
+    public static int stem(char[] word, int offset, int length, StemmingMode mode) {
+        return stemmer.stem(word, offset, length, mode);
     }
     
     /**
-     * Does the stemming helper method, determines if the word has been stemmed before
+     * Lowercases a word, folds its apostrophe variants (U+2018, U+2019 and U+201B) into "'" and stems it, in one pass
+     * and without the Strings that toLowerCase and replace would create
      *
-     * @param termS the word
+     * @param termS the word, in any case
      * @return the stemmed word
      */
-    public static String stem(String termS) {
-        if (termS.length() <= 2) {
-            return termS;
-        }
-        
-        String stem;
-        
-        if (stems.containsKey(termS)) {
-            stem = stems.get(termS);
-        } else {
-            stem = makeStem(termS);
-            stems.put(termS, stem);
-        }
-        
-        return stem;
+    public static String stemNormalized(String termS) {
+        return stemmer.stemNormalized(termS);
+    }
+    
+    /**
+     * Lowercases a word, folds its apostrophe variants into "'" and stems it in place like
+     * {@link #stem(char[], int, int)}
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @return the number of letters in the stemmed word, which starts at offset
+     */
+    public static int stemNormalized(char[] word, int offset, int length) {
+        return stemmer.stemNormalized(word, offset, length);
     }
     
     /**
-     * Handles suffixes of "'", "'s" and "'s'"
+     * Stems a word into an Appendable, bypassing the cache so no String is created
      *
-     * @param term the word
+     * @param word the word, e.g. a CharBuffer or StringBuilder
+     * @param out  where the stemmed word is appended
+     * @throws IOException if out cannot be appended to
      */
-    private static void doStep0(StringBuilder term) {
-        String termS = term.toString();
-        
-        if (termS.endsWith("'s'")) {
-            // *'s' -> *
-            term.delete(term.length() - 3, term.length());
-        } else if (termS.endsWith("'s")) {
-            // *'s -> *
-            term.delete(term.length() - 2, term.length());
-        } else if (termS.charAt(termS.length() - 1) == '\'') {
-            // *' -> *
-            term.deleteCharAt(term.length() - 1);
-        }
+    public static void stem(CharSequence word, Appendable out) throws IOException {
+        stemmer.stem(word, out);
     }
     
     /**
-     * Handles "s" suffixes
+     * Stems a batch of words with one working buffer, stemming repeated words only once and bypassing the cache. Words
+     * are looked up in the dictionary of the default stemmer first, if it has one
      *
-     * @param term the word
+     * @param words the words
+     * @param stems where the stem of each word is written, may be the same array as words
      */
-    private static void doStep1a(StringBuilder term) {
-        String termS = term.toString();
-        
-        if (termS.endsWith("sses")) {
-            // *sses -> *ss
-            term.delete(term.length() - 2, term.length());
-        } else if (termS.endsWith("ies") || termS.endsWith("ied")) {
-            if (termS.length() >= 5) {
-                // **ies/d -> **i
-                term.delete(term.length() - 2, term.length());
-            } else {
-                // *ies/d -> *ie
-                term.deleteCharAt(term.length() - 1);
-            }
-        } else if (termS.endsWith("ss") || termS.endsWith("us")) {
-            // *ss -> *ss
-        } else if (termS.charAt(termS.length() - 1) == 's') {
-            // *s -> *
-            Matcher matcher = VOWEL_NOT_IMMEDIATELY_BEFORE_S.matcher(termS);
-            if (matcher.find()) {
-                term.deleteCharAt(term.length() - 1);
-            }
-        }
+    public static void stemAll(String[] words, String[] stems) {
+        stemmer.stemAll(words, stems);
     }
     
     /**
-     * Handles suffixes of "ed" and "ing"
+     * Stems a batch of words with one working buffer, stemming repeated words only once and bypassing the cache. Words
+     * are looked up in the dictionary of the default stemmer first, if it has one
      *
-     * @param term the word
-     * @param r1   the R1 region
+     * @param words the words
+     * @return the stem of each word, in order
      */
-    private static void doStep1bc(StringBuilder term, int r1) {
-        String termS = term.toString();
-        int length = term.length();
-        
-        if (termS.endsWith("eedly")) {
-            if (term.length() - 5 >= r1) {
-                // *eedly -> *e
-                term.delete(length - 3, length);
-            }
-        } else if (termS.endsWith("eed")) {
-            if (term.length() - 3 >= r1) {
-                // *eed -> *ee
-                term.deleteCharAt(length - 1);
-            }
-        } else {
-            for (String suffix : PorterStemmerConstants.STEP_1B_SUFFIXES) {
-                if (termS.endsWith(suffix)) {
-                    String prefix = termS.substring(0, termS.length() - suffix.length());
-                    if (WordMethods.getLetterTypes(prefix).contains(String.valueOf(PorterStemmerConstants.VOWEL))) {
-                        term.delete(termS.length() - suffix.length(), term.length());
-                        step1BPart2(term);
-                        break;
-                    }
-                }
-            }
-        }
-        
-        if (term.charAt(term.length() - 1) == 'y' || term.charAt(term.length() - 1) == 'Y') {
-            if (term.length() >= 3 && PorterStemmerConstants.VOWELS.indexOf(term.charAt(term.length() - 2)) < 0) {
-                term.replace(term.length() - 1, term.length(), "i");
-            }
-        }
+    public static List<String> stemAll(List<String> words) {
+        return stemmer.stemAll(words);
     }
     
     /**
-     * Handles second part of Step 1b
+     * Gets the default stemmer behind the static methods
      *
-     * @param term the word
+     * @return the stemmer
      */
-    private static void step1BPart2(StringBuilder term) {
-        String termS = term.toString();
-        
-        if (termS.endsWith("at") || termS.endsWith("bl") || termS.endsWith("iz")) {
-            // *at -> *ate, *bl -> *ble, *iz -> *ize
-            term.append('e');
-        } else if (WordMethods.endsWithDouble(termS)) {
-            // i.e. acquitt -> acquit
-            term.deleteCharAt(term.length() - 1);
-        } else if (WordMethods.isShort(termS)) {
-            // i.e. bak -> bake
-            term.append('e');
-        }
+    public static Stemmer getDefault() {
+        return stemmer;
     }
     
     /**
-     * Replaces "y" with "i" if necessary
+     * Replaces the default stemmer behind the static methods
      *
-     * @param term the word
+     * @param defaultStemmer the new stemmer
      */
-    private static void doStep1c(StringBuilder term) {
-        if (term.charAt(term.length() - 1) == 'y' || term.charAt(term.length() - 1) == 'Y') {
-            if (term.length() >= 3 && PorterStemmerConstants.VOWELS.indexOf(term.charAt(term.length() - 2)) < 0) {
-                term.replace(term.length() - 1, term.length(), "i");
-            }
-        }
+    public static void setDefault(Stemmer defaultStemmer) {
+        stemmer = Objects.requireNonNull(defaultStemmer, "defaultStemmer");
     }
     
     /**
-     * Replaces suffixes with stemmed suffix using enums
+     * Replaces the cache of stemmed words, keeping the dictionary and buffer strategy of the default stemmer. A default
+     * stemmer not built by {@link Stemmer#builder()} is replaced by one with only the new cache
      *
-     * @param term the word
-     * @param r1   the R1 region
-     * @param r2   the R2 region
+     * @param cache the new cache
      */
-    private static void doStep2To4(StringBuilder term, int r1, int r2) {
-        // Step 2
-        String termS = term.toString();
-        for (Step2Suffixes step2Suffix : STEP_2_SUFFIXES) {
-            String suffix = step2Suffix.toString();
-            if (termS.endsWith(suffix)) {
-                if (termS.length() - suffix.length() >= r1) {
-                    if ("li".equals(suffix)) {
-                        char liEnding = termS.charAt(termS.length() - 3);
-                        if ("cdeghkmnrt".indexOf(liEnding) >= 0) {
-                            removeSuffix(term, suffix, step2Suffix.getSuffix());
-                        }
-                    } else if ("ogi".equals(suffix)) {
-                        char ogiEnding = termS.charAt(termS.length() - 4);
-                        if (ogiEnding == 'l') {
-                            removeSuffix(term, suffix, step2Suffix.getSuffix());
-                        }
-                    } else {
-                        removeSuffix(term, suffix, step2Suffix.getSuffix());
-                    }
-                }
-                
-                break;
-            }
-        }
-        
-        // Step 3
-        termS = term.toString();
-        if (termS.endsWith("ative")) {
-            if (termS.length() - 5 >= r2) {
-                term.replace(term.length() - 5, term.length(), "");
-                termS = term.toString();
-            }
-        }
-        for (Step3Suffixes step3Suffix : STEP_3_SUFFIXES) {
-            String suffix = step3Suffix.toString();
-            if (termS.endsWith(suffix)) {
-                if (termS.length() - suffix.length() >= r1) {
-                    removeSuffix(term, suffix, step3Suffix.getSuffix());
-                    break;
-                }
-            }
-        }
-        
-        // Step 4
-        termS = term.toString();
-        
-        if (termS.endsWith("sion") || termS.endsWith("tion")) {
-            if (termS.length() - 3 >= r2) {
-                term.delete(term.length() - 3, term.length());
-            }
-        } else {
-            for (Step4Suffixes step4Suffix : STEP_4_SUFFIXES) {
-                String suffix = step4Suffix.toString();
-                if (termS.endsWith(suffix)) {
-                    if (termS.length() - suffix.length() >= r2) {
-                        String prefix = termS.substring(0, termS.length() - suffix.length());
-                        if (WordMethods.getMeasure(prefix) > 1) {
-                            term.replace(prefix.length(), term.length(), step4Suffix.getSuffix());
-                        }
-                    }
-                    break;
-                }
-            }
-        }
+    public static void setCache(StemCache cache) {
+        Objects.requireNonNull(cache, "cache");
+        Stemmer current = stemmer;
+        setDefault(current instanceof DefaultStemmer ? ((DefaultStemmer) current).withCache(cache)
+                : Stemmer.builder().cache(cache).build());
     }
     
     /**
-     * Remove suffix for Steps 2-4
+     * Gets the cache of stemmed words
      *
-     * @param term        the word
-     * @param suffix      the suffix to remove
-     * @param replacement what to replace the suffix with
+     * @return the cache
      */
-    private static void removeSuffix(StringBuilder term, String suffix, String replacement) {
-        String prefix = term.substring(0, term.length() - suffix.length());
-        if (WordMethods.getMeasure(prefix) > 0) {
-            int lastIndex = prefix.length();
-            term.replace(lastIndex, term.length(), replacement);
-        }
+    public static StemCache getCache() {
+        return stemmer.getCache();
     }
     
     /**
-     * Remove ending "e" and "l" if necessary
+     * Gets the hit, miss and eviction counters of the cache of stemmed words
      *
-     * @param term the word
-     * @param r1   the R1 region
-     * @param r2   the R2 region
+     * @return the counters
      */
-    private static void doStep5(StringBuilder term, int r1, int r2) {
-        String termS = term.toString();
-        
-        if (termS.charAt(termS.length() - 1) == 'e') {
-            if (termS.length() - 1 >= r2) {
-                term.deleteCharAt(term.length() - 1);
-            } else {
-                String withoutE = termS.substring(0, termS.length() - 1);
-                if (termS.length() - 1 >= r1 && !WordMethods.endsWithShortSyllable(withoutE)) {
-                    term.deleteCharAt(term.length() - 1);
-                }
-            }
-        } else if (termS.endsWith("ll") && termS.length() - 1 >= r2) {
-            term.deleteCharAt(term.length() - 1);
-        }
+    public static CacheStats getCacheStats() {
+        return stemmer.getCache().stats();
     }
     
     /**
@@ -0,0 +1,119 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import com.github.hamzamemon.porterstemmer.cache.StemCache;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stems words with the Porter Stemmer algorithm, keeping its own cache so that separate workloads do not share state.
+ * Instances are created with {@link #builder()} and are safe to use from multiple threads
+ */
+public interface Stemmer {
+    
+    /**
+     * Creates a builder for a stemmer
+     *
+     * @return the builder
+     */
+    static StemmerBuilder builder() {
+        return new StemmerBuilder();
+    }
+    
+    /**
+     * Stems a word, using the cache of this stemmer
+     *
+     * @param word the word
+     * @return the stemmed word
+     */
+    String stem(String word);
+    
+    /**
+     * Stems a word, running only the steps of a mode. Lighter modes bypass the cache, which only holds full stems
+     *
+     * @param word the word
+     * @param mode which steps are run
+     * @return the stemmed word
+     */
+    String stem(String word, StemmingMode mode);
+    
+    /**
+     * Stems a word in place after looking it up in the dictionary, if there is one. The cache is read and written only
+     * when the cache policy is {@code ARENA}, as that cache needs no Strings; other caches are bypassed
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @return the number of letters in the stemmed word, which starts at offset
+     */
+    int stem(char[] word, int offset, int length);
+    
+    /**
+     * Stems a word in place, running only the steps of a mode
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @param mode   which steps are run
+     * @return the number of letters in the stemmed word, which starts at offset
+     */
+    int stem(char[] word, int offset, int length, StemmingMode mode);
+    
+    /**
+     * Lowercases a word, folds its apostrophe variants into "'" and stems the result like {@link #stem(String)}
+     *
+     * @param word the word, in any case
+     * @return the stemmed word
+     */
+    String stemNormalized(String word);
+    
+    /**
+     * Lowercases a word, folds its apostrophe variants into "'" and stems it in place like
+     * {@link #stem(char[], int, int)}
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @return the number of letters in the stemmed word, which starts at offset
+     */
+    int stemNormalized(char[] word, int offset, int length);
+    
+    /**
+     * Stems a word into an Appendable, bypassing the cache so no String is created
+     *
+     * @param word the word, e.g. a CharBuffer or StringBuilder
+     * @param out  where the stemmed word is appended
+     * @throws IOException if out cannot be appended to
+     */
+    void stem(CharSequence word, Appendable out) throws IOException;
+    
+    /**
+     * Stems a batch of words, stemming repeated words only once and bypassing the cache. Words are looked up in the
+     * dictionary first, if there is one
+     *
+     * @param words the words
+     * @param stems where the stem of each word is written, may be the same array as words
+     */
+    void stemAll(String[] words, String[] stems);
+    
+    /**
+     * Stems a batch of words, stemming repeated words only once and bypassing the cache. Words are looked up in the
+     * dictionary first, if there is one
+     *
+     * @param words the words
+     * @return the stem of each word, in order
+     */
+    default List<String> stemAll(List<String> words) {
+        String[] stems = words.toArray(new String[0]);
+        stemAll(stems, stems);
+        return Arrays.asList(stems);
+    }
+    
+    /**
+     * Gets the cache of this stemmer
+     *
+     * @return the cache
+     */
+    StemCache getCache();
+}
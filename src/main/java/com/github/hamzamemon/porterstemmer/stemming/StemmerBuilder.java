@@ -0,0 +1,108 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import com.github.hamzamemon.porterstemmer.cache.CachePolicy;
+import com.github.hamzamemon.porterstemmer.cache.StemCache;
+import com.github.hamzamemon.porterstemmer.dictionary.StemDictionary;
+
+import java.util.Objects;
+
+/**
+ * Configures and creates a {@link Stemmer}
+ */
+public final class StemmerBuilder {
+    
+    private int cacheCapacity = PorterStemmer.DEFAULT_CACHE_CAPACITY;
+    private CachePolicy cachePolicy = CachePolicy.LRU;
+    private boolean memoize = true;
+    private StemCache cache;
+    private BufferStrategy bufferStrategy = BufferStrategy.THREAD_LOCAL;
+    private StemDictionary dictionary;
+    
+    /**
+     * Constructor for StemmerBuilder
+     */
+    StemmerBuilder() {
+    }
+    
+    /**
+     * Sets the maximum number of cached words, PorterStemmer.DEFAULT_CACHE_CAPACITY by default
+     *
+     * @param cacheCapacity the capacity
+     * @return this builder
+     */
+    public StemmerBuilder cacheCapacity(int cacheCapacity) {
+        if (cacheCapacity <= 0) {
+            throw new IllegalArgumentException("cacheCapacity must be positive: " + cacheCapacity);
+        }
+        
+        this.cacheCapacity = cacheCapacity;
+        return this;
+    }
+    
+    /**
+     * Sets how stemmed words are cached, LRU by default
+     *
+     * @param cachePolicy the policy
+     * @return this builder
+     */
+    public StemmerBuilder cachePolicy(CachePolicy cachePolicy) {
+        this.cachePolicy = Objects.requireNonNull(cachePolicy, "cachePolicy");
+        return this;
+    }
+    
+    /**
+     * Sets whether stemmed words are cached at all, true by default. The cache policy is kept either way and only used
+     * when memoizing
+     *
+     * @param memoize false to stem every word with the algorithm
+     * @return this builder
+     */
+    public StemmerBuilder memoize(boolean memoize) {
+        this.memoize = memoize;
+        return this;
+    }
+    
+    /**
+     * Uses an existing cache instead of creating one from the capacity and policy
+     *
+     * @param cache the cache
+     * @return this builder
+     */
+    public StemmerBuilder cache(StemCache cache) {
+        this.cache = Objects.requireNonNull(cache, "cache");
+        return this;
+    }
+    
+    /**
+     * Sets how the scratch buffers are provided, THREAD_LOCAL by default
+     *
+     * @param bufferStrategy the strategy
+     * @return this builder
+     */
+    public StemmerBuilder bufferStrategy(BufferStrategy bufferStrategy) {
+        this.bufferStrategy = Objects.requireNonNull(bufferStrategy, "bufferStrategy");
+        return this;
+    }
+    
+    /**
+     * Looks words up in a precomputed dictionary before the cache, words missing from it are stemmed by the algorithm
+     *
+     * @param dictionary the dictionary
+     * @return this builder
+     */
+    public StemmerBuilder dictionary(StemDictionary dictionary) {
+        this.dictionary = Objects.requireNonNull(dictionary, "dictionary");
+        return this;
+    }
+    
+    /**
+     * Creates the stemmer
+     *
+     * @return the stemmer
+     */
+    public Stemmer build() {
+        CachePolicy policy = memoize ? cachePolicy : CachePolicy.NONE;
+        StemCache stemCache = cache == null ? policy.newCache(cacheCapacity) : cache;
+        return new DefaultStemmer(stemCache, bufferStrategy, dictionary);
+    }
+}
@@ -0,0 +1,795 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import com.github.hamzamemon.porterstemmer.cache.ArenaStemCache;
+import com.github.hamzamemon.porterstemmer.constants.PorterStemmerConstants;
+import com.github.hamzamemon.porterstemmer.dictionary.StemDictionary;
+import com.github.hamzamemon.porterstemmer.metrics.StemmerMetrics;
+import com.github.hamzamemon.porterstemmer.metrics.Step;
+import com.github.hamzamemon.porterstemmer.suffixes.Step2Suffixes;
+import com.github.hamzamemon.porterstemmer.suffixes.Step3Suffixes;
+import com.github.hamzamemon.porterstemmer.suffixes.Step4Suffixes;
+import com.github.hamzamemon.porterstemmer.suffixes.SuffixMatcher;
+import com.github.hamzamemon.porterstemmer.util.LetterClassifier;
+import com.github.hamzamemon.porterstemmer.util.WordAnalysis;
+import com.github.hamzamemon.porterstemmer.util.WordMethods;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Does the Porter Stemmer algorithm in place over a reusable char[] buffer, so stemming a word does not allocate
+ * anything except the returned String. An engine keeps state between calls and must only be used by one thread
+ */
+public final class StemmingEngine {
+    
+    private static final int DEFAULT_CAPACITY = 32;
+    private static final LetterClassifier CLASSIFIER = LetterClassifier.getDefault();
+    
+    private static final char[][] STEP_2_REPLACEMENTS = new char[Step2Suffixes.values().length][];
+    private static final char[][] STEP_3_REPLACEMENTS = new char[Step3Suffixes.values().length][];
+    
+    private static final char[][] EXCEPTIONAL_FORMS = new char[PorterStemmerConstants.EXCEPTIONAL_FORMS.size()][];
+    private static final char[][] EXCEPTIONAL_STEMS = new char[EXCEPTIONAL_FORMS.length][];
+    // the exceptional forms ending in "s", which step 1a would otherwise fold: skis, skies and invariant words
+    private static final boolean[] PLURAL_EXCEPTIONAL_FORMS = new boolean[EXCEPTIONAL_FORMS.length];
+    private static final char[][] EXCEPTIONAL_FORMS_AFTER_STEP_1A =
+            new char[PorterStemmerConstants.EXCEPTIONAL_FORMS_AFTER_STEP_1A.size()][];
+    
+    static {
+        for (Step2Suffixes step2Suffix : Step2Suffixes.values()) {
+            STEP_2_REPLACEMENTS[step2Suffix.ordinal()] = step2Suffix.getSuffix().toCharArray();
+        }
+        for (Step3Suffixes step3Suffix : Step3Suffixes.values()) {
+            STEP_3_REPLACEMENTS[step3Suffix.ordinal()] = step3Suffix.getSuffix().toCharArray();
+        }
+        
+        int i = 0;
+        for (Map.Entry<String, String> entry : PorterStemmerConstants.EXCEPTIONAL_FORMS.entrySet()) {
+            EXCEPTIONAL_FORMS[i] = entry.getKey().toCharArray();
+            EXCEPTIONAL_STEMS[i] = entry.getValue().toCharArray();
+            PLURAL_EXCEPTIONAL_FORMS[i] = entry.getKey().endsWith("s");
+            i++;
+        }
+        
+        i = 0;
+        for (String form : PorterStemmerConstants.EXCEPTIONAL_FORMS_AFTER_STEP_1A) {
+            EXCEPTIONAL_FORMS_AFTER_STEP_1A[i++] = form.toCharArray();
+        }
+    }
+    
+    private final Map<String, String> batchStems = new HashMap<>();
+    private final WordAnalysis analysis = new WordAnalysis();
+    private boolean[] letterVowels = new boolean[DEFAULT_CAPACITY];
+    private char[] buffer;
+    private CharBuffer bufferView;
+    private int length;
+    
+    /**
+     * Constructor for StemmingEngine
+     */
+    public StemmingEngine() {
+        buffer = new char[DEFAULT_CAPACITY];
+        bufferView = CharBuffer.wrap(buffer);
+    }
+    
+    /**
+     * Stems a word
+     *
+     * @param termS the word
+     * @return the stemmed word, the same instance if stemming did not change it
+     */
+    public String stem(String termS) {
+        return stem(termS, StemmingMode.FULL);
+    }
+    
+    /**
+     * Stems a word, running only the steps of a mode
+     *
+     * @param termS the word
+     * @param mode  which steps are run
+     * @return the stemmed word, the same instance if stemming did not change it
+     */
+    public String stem(String termS, StemmingMode mode) {
+        int termLength = termS.length();
+        if (termLength <= 2) {
+            return termS;
+        }
+        
+        ensureCapacity(termLength);
+        termS.getChars(0, termLength, buffer, 0);
+        length = termLength;
+        makeStem(mode, null, 0);
+        
+        if (length == termLength && sameAs(termS)) {
+            return termS;
+        }
+        return new String(buffer, 0, length);
+    }
+    
+    /**
+     * Normalizes and stems a word in one pass: the letters are lowercased, their apostrophe variants folded into "'" and
+     * a leading apostrophe dropped while they are copied into the buffer, so stem(word.toLowerCase()) with its
+     * apostrophes replaced is computed without the intermediate Strings
+     *
+     * @param word the word
+     * @return the stemmed word, the same instance if neither normalizing nor stemming changed it
+     */
+    public String stemNormalized(String word) {
+        int wordLength = word.length();
+        ensureCapacity(wordLength);
+        int from = wordLength > 2 && WordMethods.normalize(word.charAt(0)) == '\'' ? 1 : 0;
+        for (int i = from; i < wordLength; i++) {
+            buffer[i - from] = WordMethods.normalize(word.charAt(i));
+        }
+        length = wordLength - from;
+        if (wordLength > 2) {
+            stemBuffer(StemmingMode.FULL, null, 0);
+        }
+        
+        if (length == wordLength && sameAs(word)) {
+            return word;
+        }
+        return new String(buffer, 0, length);
+    }
+    
+    /**
+     * Normalizes and stems a word in place in one pass, see {@link #stemNormalized(String)}
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param len    the number of letters
+     * @return the number of letters in the stemmed word, which starts at offset
+     */
+    public int stemNormalized(char[] word, int offset, int len) {
+        ensureCapacity(len);
+        int from = len > 2 && WordMethods.normalize(word[offset]) == '\'' ? 1 : 0;
+        for (int i = from; i < len; i++) {
+            buffer[i - from] = WordMethods.normalize(word[offset + i]);
+        }
+        length = len - from;
+        if (len > 2) {
+            stemBuffer(StemmingMode.FULL, null, 0);
+        }
+        
+        System.arraycopy(buffer, 0, word, offset, length);
+        return length;
+    }
+    
+    /**
+     * Stems a batch of words, stemming each distinct word only once
+     *
+     * @param words the words
+     * @param stems where the stem of each word is written, may be the same array as words
+     */
+    public void stemAll(String[] words, String[] stems) {
+        if (stems.length < words.length) {
+            throw new IllegalArgumentException("Output holds " + stems.length + " stems for " + words.length + " words");
+        }
+        
+        stemAll(words, 0, words.length, stems);
+    }
+    
+    /**
+     * Stems part of a batch of words, stemming each distinct word only once
+     *
+     * @param words the words
+     * @param from  the index of the first word
+     * @param to    the index after the last word
+     * @param stems where the stem of each word is written at the same index, may be the same array as words
+     */
+    public void stemAll(String[] words, int from, int to, String[] stems) {
+        stemAll(words, from, to, stems, null);
+    }
+    
+    /**
+     * Stems part of a batch of words, looking each distinct word up in a dictionary before stemming it
+     *
+     * @param words      the words
+     * @param from       the index of the first word
+     * @param to         the index after the last word
+     * @param stems      where the stem of each word is written at the same index, may be the same array as words
+     * @param dictionary the precomputed stems, or null
+     */
+    public void stemAll(String[] words, int from, int to, String[] stems, StemDictionary dictionary) {
+        try {
+            for (int i = from; i < to; i++) {
+                String word = words[i];
+                if (word.length() <= 2) {
+                    stems[i] = word;
+                    continue;
+                }
+                
+                String stem = batchStems.get(word);
+                if (stem == null) {
+                    stem = dictionary == null ? null : dictionary.get(word);
+                    if (stem == null) {
+                        stem = stem(word);
+                    }
+                    batchStems.put(word, stem);
+                }
+                stems[i] = stem;
+            }
+        } finally {
+            batchStems.clear();
+        }
+    }
+    
+    /**
+     * Stems a packed buffer of words in place, classifying the letters of the whole buffer in one call to the default
+     * {@link LetterClassifier}, which may use SIMD instructions, instead of word by word
+     *
+     * @param letters     the buffer, word i being the letters from bounds[i] to bounds[i + 1]
+     * @param bounds      the start of every word, followed by the end of the last word
+     * @param count       the number of words
+     * @param stemLengths where the length of every stem is written, each stem starting where its word did
+     * @return the flags of {@link LetterClassifier} for the whole buffer
+     */
+    public int stemAll(char[] letters, int[] bounds, int count, int[] stemLengths) {
+        return stemAll(letters, bounds, count, stemLengths, CLASSIFIER);
+    }
+    
+    /**
+     * Stems a packed buffer of words in place, classifying the letters of the whole buffer in one call
+     *
+     * @param letters     the buffer, word i being the letters from bounds[i] to bounds[i + 1]
+     * @param bounds      the start of every word, followed by the end of the last word
+     * @param count       the number of words
+     * @param stemLengths where the length of every stem is written, each stem starting where its word did
+     * @param classifier  what classifies the letters
+     * @return the flags of {@link LetterClassifier} for the whole buffer
+     */
+    public int stemAll(char[] letters, int[] bounds, int count, int[] stemLengths, LetterClassifier classifier) {
+        int start = bounds[0];
+        int total = bounds[count] - start;
+        if (letterVowels.length < total) {
+            letterVowels = new boolean[Math.max(total, letterVowels.length << 1)];
+        }
+        int flags = classifier.classify(letters, start, total, letterVowels);
+        
+        for (int i = 0; i < count; i++) {
+            int offset = bounds[i];
+            int len = bounds[i + 1] - offset;
+            if (len <= 2) {
+                stemLengths[i] = len;
+                continue;
+            }
+            
+            ensureCapacity(len);
+            System.arraycopy(letters, offset, buffer, 0, len);
+            length = len;
+            makeStem(StemmingMode.FULL, letterVowels, offset - start);
+            System.arraycopy(buffer, 0, letters, offset, length);
+            stemLengths[i] = length;
+        }
+        return flags;
+    }
+    
+    /**
+     * Stems a word in place
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param len    the number of letters
+     * @return the number of letters in the stemmed word, which starts at offset
+     */
+    public int stem(char[] word, int offset, int len) {
+        return stem(word, offset, len, StemmingMode.FULL, null);
+    }
+    
+    /**
+     * Stems a word in place, running only the steps of a mode
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param len    the number of letters
+     * @param mode   which steps are run
+     * @return the number of letters in the stemmed word, which starts at offset
+     */
+    public int stem(char[] word, int offset, int len, StemmingMode mode) {
+        return stem(word, offset, len, mode, null);
+    }
+    
+    /**
+     * Stems a word in place, caching its stem before the word is overwritten
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param len    the number of letters
+     * @param cache  where the word and its stem are cached, or null
+     * @return the number of letters in the stemmed word, which starts at offset
+     */
+    public int stem(char[] word, int offset, int len, ArenaStemCache cache) {
+        return stem(word, offset, len, StemmingMode.FULL, cache);
+    }
+    
+    /**
+     * Stems a word in place, running only the steps of a mode and caching its stem before the word is overwritten
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param len    the number of letters
+     * @param mode   which steps are run
+     * @param cache  where the word and its stem are cached, or null
+     * @return the number of letters in the stemmed word, which starts at offset
+     */
+    private int stem(char[] word, int offset, int len, StemmingMode mode, ArenaStemCache cache) {
+        if (len <= 2) {
+            return len;
+        }
+        
+        ensureCapacity(len);
+        System.arraycopy(word, offset, buffer, 0, len);
+        length = len;
+        makeStem(mode, null, 0);
+        if (cache != null) {
+            cache.put(word, offset, len, buffer, 0, length);
+        }
+        System.arraycopy(buffer, 0, word, offset, length);
+        return length;
+    }
+    
+    /**
+     * Stems a word into an Appendable, e.g. straight out of a decode buffer into a StringBuilder
+     *
+     * @param word the word
+     * @param out  where the stemmed word is appended
+     * @throws IOException if out cannot be appended to
+     */
+    public void stem(CharSequence word, Appendable out) throws IOException {
+        int wordLength = word.length();
+        ensureCapacity(wordLength);
+        if (word instanceof String) {
+            ((String) word).getChars(0, wordLength, buffer, 0);
+        } else if (word instanceof StringBuilder) {
+            ((StringBuilder) word).getChars(0, wordLength, buffer, 0);
+        } else if (word instanceof CharBuffer) {
+            CharBuffer chars = (CharBuffer) word;
+            chars.get(chars.position(), buffer, 0, wordLength);
+        } else {
+            for (int i = 0; i < wordLength; i++) {
+                buffer[i] = word.charAt(i);
+            }
+        }
+        
+        length = wordLength;
+        if (wordLength > 2) {
+            makeStem();
+        }
+        
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(buffer, 0, length);
+        } else if (out instanceof CharBuffer) {
+            ((CharBuffer) out).put(buffer, 0, length);
+        } else {
+            out.append(bufferView, 0, length);
+        }
+    }
+    
+    /**
+     * Determines if the buffer holds the same letters as a word of the same length
+     *
+     * @param termS the word
+     * @return if the letters are the same
+     */
+    private boolean sameAs(String termS) {
+        for (int i = 0; i < length; i++) {
+            if (buffer[i] != termS.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Grows the buffer if it cannot hold a word
+     *
+     * @param capacity the length of the word
+     */
+    private void ensureCapacity(int capacity) {
+        if (buffer.length < capacity) {
+            buffer = new char[Math.max(capacity, buffer.length << 1)];
+            bufferView = CharBuffer.wrap(buffer);
+        }
+    }
+    
+    /**
+     * Performs the algorithm steps on the buffer
+     */
+    private void makeStem() {
+        makeStem(StemmingMode.FULL, null, 0);
+    }
+    
+    /**
+     * Performs the algorithm steps of a mode on the buffer
+     *
+     * @param mode         which steps are run
+     * @param letterVowels the classes a LetterClassifier gave the letters of the buffer, or null to classify them here
+     * @param offset       the index of the class of the first letter
+     */
+    private void makeStem(StemmingMode mode, boolean[] letterVowels, int offset) {
+        if (buffer[0] == '\'') {
+            System.arraycopy(buffer, 1, buffer, 0, --length);
+            offset++;
+        }
+        stemBuffer(mode, letterVowels, offset);
+    }
+    
+    /**
+     * Performs the algorithm steps of a mode on the buffer, once a leading apostrophe has been dropped
+     *
+     * @param mode         which steps are run
+     * @param letterVowels the classes a LetterClassifier gave the letters of the buffer, or null to classify them here
+     * @param offset       the index of the class of the first letter
+     */
+    private void stemBuffer(StemmingMode mode, boolean[] letterVowels, int offset) {
+        if (mode == StemmingMode.POSSESSIVE) {
+            // stripping a possessive needs neither the vowels nor the regions
+            doStep0();
+            return;
+        }
+        if (StemmerMetrics.ENABLED) {
+            StemmerMetrics.recordWord();
+        }
+        if (replaceExceptionalForm(mode)) {
+            if (StemmerMetrics.ENABLED) {
+                StemmerMetrics.recordExceptionalForm();
+            }
+            return;
+        }
+        
+        boolean analyzed = mode != StemmingMode.PLURAL || letterVowels != null;
+        if (letterVowels == null) {
+            WordMethods.setCapitalYs(buffer, length);
+            if (analyzed) {
+                analysis.analyze(buffer, length);
+            }
+        } else {
+            analysis.analyze(buffer, length, letterVowels, offset);
+        }
+        int r1 = analyzed ? getStartIndexOfR1() : length;
+        int r2 = mode == StemmingMode.FULL ? analysis.getIndexOfConsonantAfterVowel(r1, length) : length;
+        
+        // the analysis above is not part of any step
+        long start = StemmerMetrics.ENABLED ? System.nanoTime() : 0;
+        doStep0();
+        if (StemmerMetrics.ENABLED) {
+            start = StemmerMetrics.recordStep(Step.STEP_0, start);
+        }
+        if (length == 0) {
+            return;
+        }
+        
+        doStep1a(analyzed);
+        if (StemmerMetrics.ENABLED) {
+            start = StemmerMetrics.recordStep(Step.STEP_1A, start);
+        }
+        if (mode == StemmingMode.PLURAL) {
+            lowerCapitalYs();
+            return;
+        }
+        
+        if (indexOf(EXCEPTIONAL_FORMS_AFTER_STEP_1A) >= 0) {
+            if (StemmerMetrics.ENABLED) {
+                StemmerMetrics.recordExceptionalFormAfterStep1a();
+            }
+            return;
+        }
+        
+        doStep1bc(r1);
+        if (StemmerMetrics.ENABLED) {
+            start = StemmerMetrics.recordStep(Step.STEP_1BC, start);
+        }
+        if (mode == StemmingMode.STEP_1) {
+            lowerCapitalYs();
+            return;
+        }
+        
+        doStep2To4(r1, r2);
+        if (StemmerMetrics.ENABLED) {
+            start = StemmerMetrics.recordStep(Step.STEP_2_TO_4, start);
+        }
+        doStep5(r1, r2);
+        if (StemmerMetrics.ENABLED) {
+            StemmerMetrics.recordStep(Step.STEP_5, start);
+        }
+        
+        lowerCapitalYs();
+    }
+    
+    /**
+     * Turns the Ys marked as consonants back into "y"
+     */
+    private void lowerCapitalYs() {
+        for (int i = 0; i < length; i++) {
+            if (buffer[i] == 'Y') {
+                buffer[i] = 'y';
+            }
+        }
+    }
+    
+    /**
+     * Replaces the buffer with its stem if it is an exceptional form. The lighter modes only replace the plural forms,
+     * as the others are stemmed by later steps
+     *
+     * @param mode which steps are run
+     * @return if the buffer was an exceptional form
+     */
+    private boolean replaceExceptionalForm(StemmingMode mode) {
+        int index = indexOf(EXCEPTIONAL_FORMS);
+        if (index < 0 || mode != StemmingMode.FULL && !PLURAL_EXCEPTIONAL_FORMS[index]) {
+            return false;
+        }
+        
+        char[] stem = EXCEPTIONAL_STEMS[index];
+        System.arraycopy(stem, 0, buffer, 0, stem.length);
+        length = stem.length;
+        return true;
+    }
+    
+    /**
+     * Finds the buffer in a list of words
+     *
+     * @param words the words
+     * @return the index of the word, -1 if it is not there
+     */
+    private int indexOf(char[][] words) {
+        for (int i = 0; i < words.length; i++) {
+            char[] word = words[i];
+            if (word.length == length && Arrays.equals(word, 0, length, buffer, 0, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Determines if the buffer ends with a suffix
+     *
+     * @param suffix the suffix
+     * @return if the buffer ends with the suffix
+     */
+    private boolean endsWith(String suffix) {
+        int start = length - suffix.length();
+        if (start < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (buffer[start + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Determines if the buffer starts with a prefix
+     *
+     * @param prefix the prefix
+     * @return if the buffer starts with the prefix
+     */
+    private boolean startsWith(String prefix) {
+        if (length < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer[i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Replaces the end of the buffer
+     *
+     * @param start       the index where the replacement starts
+     * @param replacement the new ending
+     */
+    private void replaceEnd(int start, char[] replacement) {
+        System.arraycopy(replacement, 0, buffer, start, replacement.length);
+        length = start + replacement.length;
+        analysis.update(start, length);
+    }
+    
+    /**
+     * R1 is the substring after the first consonant following a vowel
+     *
+     * @return the index
+     */
+    private int getStartIndexOfR1() {
+        if (startsWith("gener") || startsWith("arsen")) {
+            return 5;
+        }
+        if (startsWith("commun")) {
+            return 6;
+        }
+        
+        return analysis.getIndexOfConsonantAfterVowel(0, length);
+    }
+    
+    /**
+     * Handles suffixes of "'", "'s" and "'s'"
+     */
+    private void doStep0() {
+        if (endsWith("'s'")) {
+            // *'s' -> *
+            length -= 3;
+        } else if (endsWith("'s")) {
+            // *'s -> *
+            length -= 2;
+        } else if (buffer[length - 1] == '\'') {
+            // *' -> *
+            length--;
+        }
+    }
+    
+    /**
+     * Handles "s" suffixes
+     *
+     * @param analyzed if the analysis holds the vowels of the buffer, otherwise its capital Ys mark the consonant ys
+     */
+    private void doStep1a(boolean analyzed) {
+        if (endsWith("sses")) {
+            // *sses -> *ss
+            length -= 2;
+        } else if (endsWith("ies") || endsWith("ied")) {
+            if (length >= 5) {
+                // **ies/d -> **i
+                length -= 2;
+            } else {
+                // *ies/d -> *ie
+                length--;
+            }
+        } else if (endsWith("ss") || endsWith("us")) {
+            // *ss -> *ss
+        } else if (buffer[length - 1] == 's') {
+            // *s -> * if there is a vowel before the letter preceding the "s"
+            if (analyzed ? analysis.containsVowel(length - 2) : WordMethods.containsVowel(buffer, length - 2)) {
+                length--;
+            }
+        }
+    }
+    
+    /**
+     * Handles suffixes of "ed" and "ing", then replaces "y" with "i" if necessary
+     *
+     * @param r1 the R1 region
+     */
+    private void doStep1bc(int r1) {
+        if (endsWith("eedly")) {
+            if (length - 5 >= r1) {
+                // *eedly -> *ee
+                length -= 3;
+            }
+        } else if (endsWith("eed")) {
+            if (length - 3 >= r1) {
+                // *eed -> *ee
+                length--;
+            }
+        } else {
+            int suffixLength = SuffixMatcher.matchStep1b(buffer, length, 0);
+            if (suffixLength > 0 && analysis.containsVowel(length - suffixLength)) {
+                length -= suffixLength;
+                step1BPart2();
+            }
+        }
+        
+        char last = buffer[length - 1];
+        if (last == 'y' || last == 'Y') {
+            if (length >= 3 && !analysis.isVowel(length - 2)) {
+                buffer[length - 1] = 'i';
+                analysis.update(length - 1, length);
+            }
+        }
+    }
+    
+    /**
+     * Handles second part of Step 1b
+     */
+    private void step1BPart2() {
+        if (endsWith("at") || endsWith("bl") || endsWith("iz")) {
+            // *at -> *ate, *bl -> *ble, *iz -> *ize
+            appendE();
+        } else if (WordMethods.endsWithDouble(buffer, length)) {
+            // i.e. acquitt -> acquit
+            length--;
+        } else if (analysis.isShort(length)) {
+            // i.e. bak -> bake
+            appendE();
+        }
+    }
+    
+    /**
+     * Appends "e" to the buffer
+     */
+    private void appendE() {
+        buffer[length++] = 'e';
+        analysis.update(length - 1, length);
+    }
+    
+    /**
+     * Replaces suffixes with stemmed suffix using enums
+     *
+     * @param r1 the R1 region
+     * @param r2 the R2 region
+     */
+    private void doStep2To4(int r1, int r2) {
+        // Step 2
+        Step2Suffixes step2Suffix = SuffixMatcher.matchStep2(buffer, length, 0);
+        if (step2Suffix != null) {
+            int start = length - step2Suffix.toString().length();
+            if (start >= r1) {
+                if (step2Suffix == Step2Suffixes.LI) {
+                    // *li, only after a valid li-ending
+                    if (PorterStemmerConstants.LI_ENDINGS.indexOf(buffer[length - 3]) >= 0) {
+                        removeSuffix(start, STEP_2_REPLACEMENTS[step2Suffix.ordinal()]);
+                    }
+                } else if (step2Suffix == Step2Suffixes.OGI) {
+                    // *logi
+                    if (buffer[length - 4] == 'l') {
+                        removeSuffix(start, STEP_2_REPLACEMENTS[step2Suffix.ordinal()]);
+                    }
+                } else {
+                    removeSuffix(start, STEP_2_REPLACEMENTS[step2Suffix.ordinal()]);
+                }
+            }
+        }
+        
+        // Step 3
+        if (endsWith("ative") && length - 5 >= r2) {
+            length -= 5;
+        }
+        Step3Suffixes step3Suffix = SuffixMatcher.matchStep3(buffer, length, r1);
+        if (step3Suffix != null) {
+            removeSuffix(length - step3Suffix.toString().length(), STEP_3_REPLACEMENTS[step3Suffix.ordinal()]);
+        }
+        
+        // Step 4
+        if (endsWith("sion") || endsWith("tion")) {
+            if (length - 3 >= r2) {
+                length -= 3;
+            }
+        } else {
+            Step4Suffixes step4Suffix = SuffixMatcher.matchStep4(buffer, length, 0);
+            if (step4Suffix != null) {
+                int start = length - step4Suffix.toString().length();
+                if (start >= r2 && analysis.getMeasure(start) > 1) {
+                    length = start;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Remove suffix for Steps 2-3
+     *
+     * @param start       the index where the suffix starts
+     * @param replacement what to replace the suffix with
+     */
+    private void removeSuffix(int start, char[] replacement) {
+        if (analysis.getMeasure(start) > 0) {
+            replaceEnd(start, replacement);
+        }
+    }
+    
+    /**
+     * Remove ending "e" and "l" if necessary
+     *
+     * @param r1 the R1 region
+     * @param r2 the R2 region
+     */
+    private void doStep5(int r1, int r2) {
+        if (buffer[length - 1] == 'e') {
+            if (length - 1 >= r2) {
+                length--;
+            } else if (length - 1 >= r1 && !analysis.endsWithShortSyllable(length - 1)) {
+                length--;
+            }
+        } else if (endsWith("ll") && length - 1 >= r2) {
+            length--;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+/**
+ * How much of the Porter Stemmer algorithm is run on a word. The lighter modes run only their steps and skip the R1 and
+ * R2 regions that those steps do not need, for fields where folding possessives or plurals is enough
+ */
+public enum StemmingMode {
+    
+    // Step 0 only: removes a leading apostrophe and the possessive "'", "'s" and "'s'" suffixes
+    POSSESSIVE,
+    
+    // Steps 0 and 1a: also folds plurals, keeping the exceptional plurals such as "skies" and "news"; needs the vowels
+    // but neither region
+    PLURAL,
+    
+    // Steps 0 to 1c: also removes "ed" and "ing" and replaces a final "y" with "i", with the same exceptional plurals;
+    // needs R1 but not R2
+    STEP_1,
+    
+    // Every step, the same stems as the one-argument stem methods
+    FULL
+}
@@ -0,0 +1,141 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stems words held as UTF-8 bytes. The Porter Stemmer rules only touch ASCII letters and apostrophes, so an ASCII word
+ * is widened straight into the engine buffer and narrowed back without a charset decoder or encoder. Other words are
+ * decoded, stemmed and encoded with reused coders. Malformed UTF-8 is left unchanged. The stem of a word is never longer
+ * in bytes than the word, so words can be stemmed in place. A Utf8Stemmer reuses its buffers and must only be used by
+ * one thread
+ */
+public final class Utf8Stemmer {
+    
+    private final StemmingEngine engine = new StemmingEngine();
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private char[] chars = new char[64];
+    private CharBuffer charView = CharBuffer.wrap(chars);
+    private ByteBuffer encoded = ByteBuffer.allocate(256);
+    
+    /**
+     * Stems a word in place
+     *
+     * @param word   the buffer holding the UTF-8 bytes of the word
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the number of bytes of the stemmed word, which starts at offset
+     */
+    public int stem(byte[] word, int offset, int length) {
+        ensureCapacity(length);
+        boolean ascii = true;
+        for (int i = 0; i < length; i++) {
+            byte b = word[offset + i];
+            if (b < 0) {
+                ascii = false;
+                break;
+            }
+            chars[i] = (char) b;
+        }
+        
+        if (ascii) {
+            int stemLength = engine.stem(chars, 0, length);
+            for (int i = 0; i < stemLength; i++) {
+                word[offset + i] = (byte) chars[i];
+            }
+            return stemLength;
+        }
+        
+        if (!stemNonAscii(ByteBuffer.wrap(word, offset, length))) {
+            return length;
+        }
+        int stemLength = encoded.remaining();
+        encoded.get(word, offset, stemLength);
+        return stemLength;
+    }
+    
+    /**
+     * Stems the remaining bytes of a buffer, which are all consumed, and writes the stem to another buffer
+     *
+     * @param word the buffer holding the UTF-8 bytes of the word from its position to its limit
+     * @param out  where the stem is written, with room for at least as many bytes as the word
+     * @return the number of bytes written
+     */
+    public int stem(ByteBuffer word, ByteBuffer out) {
+        int start = word.position();
+        int length = word.remaining();
+        ensureCapacity(length);
+        boolean ascii = true;
+        for (int i = 0; i < length; i++) {
+            byte b = word.get(start + i);
+            if (b < 0) {
+                ascii = false;
+                break;
+            }
+            chars[i] = (char) b;
+        }
+        
+        if (ascii) {
+            word.position(start + length);
+            int stemLength = engine.stem(chars, 0, length);
+            for (int i = 0; i < stemLength; i++) {
+                out.put((byte) chars[i]);
+            }
+            return stemLength;
+        }
+        
+        if (!stemNonAscii(word)) {
+            word.position(start);
+            out.put(word);
+            return length;
+        }
+        int stemLength = encoded.remaining();
+        out.put(encoded);
+        return stemLength;
+    }
+    
+    /**
+     * Decodes, stems and encodes a word that is not ASCII, leaving the stem between the position and limit of encoded
+     *
+     * @param word the UTF-8 bytes of the word, consumed
+     * @return false if the word is not valid UTF-8
+     */
+    private boolean stemNonAscii(ByteBuffer word) {
+        charView.clear();
+        decoder.reset();
+        if (decoder.decode(word, charView, true).isError() || decoder.flush(charView).isError()) {
+            return false;
+        }
+        
+        int stemLength = engine.stem(chars, 0, charView.position());
+        charView.limit(stemLength).position(0);
+        encoded.clear();
+        encoder.reset();
+        CoderResult result = encoder.encode(charView, encoded, true);
+        if (result.isError() || result.isOverflow() || !encoder.flush(encoded).isUnderflow()) {
+            return false;
+        }
+        encoded.flip();
+        return true;
+    }
+    
+    /**
+     * Grows the buffers, UTF-8 never decodes to more chars than bytes and the stem is never longer than the word
+     *
+     * @param capacity the number of bytes in the word
+     */
+    private void ensureCapacity(int capacity) {
+        if (chars.length < capacity) {
+            chars = new char[Math.max(capacity, chars.length << 1)];
+            charView = CharBuffer.wrap(chars);
+        }
+        if (encoded.capacity() < capacity) {
+            encoded = ByteBuffer.allocate(Math.max(capacity, encoded.capacity() << 1));
+        }
+    }
+}
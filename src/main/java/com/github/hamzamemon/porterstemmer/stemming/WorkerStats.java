@@ -0,0 +1,71 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+/**
+ * Snapshot of the work done by one worker of a {@link ParallelStemmer}
+ */
+public final class WorkerStats {
+    
+    private final String threadName;
+    private final long words;
+    private final long nanos;
+    
+    /**
+     * Constructor for WorkerStats
+     *
+     * @param threadName the name of the thread
+     * @param words      the number of words stemmed
+     * @param nanos      the time spent stemming, in nanoseconds
+     */
+    public WorkerStats(String threadName, long words, long nanos) {
+        this.threadName = threadName;
+        this.words = words;
+        this.nanos = nanos;
+    }
+    
+    /**
+     * Gets the name of the thread
+     *
+     * @return the thread name
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+    
+    /**
+     * Gets the number of words stemmed
+     *
+     * @return the words
+     */
+    public long getWords() {
+        return words;
+    }
+    
+    /**
+     * Gets the time spent stemming
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+    
+    /**
+     * Gets the throughput of the thread while it was stemming
+     *
+     * @return the words per second, 0 if no time was spent
+     */
+    public double getWordsPerSecond() {
+        return nanos == 0 ? 0 : words * 1e9 / nanos;
+    }
+    
+    /**
+     * Output object as String
+     *
+     * @return the object as a String
+     */
+    @Override
+    public String toString() {
+        return threadName + ": " + words + " words in " + nanos / 1_000_000 + " ms (" + (long) getWordsPerSecond()
+                + " words/s)";
+    }
+}
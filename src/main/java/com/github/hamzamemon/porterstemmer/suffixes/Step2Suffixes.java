@@ -42,9 +42,11 @@ public enum Step2Suffixes {
     LI("");
     
     private final String suffix;
+    private final String letters;
     
     Step2Suffixes(String suffix) {
         this.suffix = suffix;
+        this.letters = name().toLowerCase();
     }
     
     /**
@@ -63,6 +65,6 @@ public enum Step2Suffixes {
      */
     @Override
     public String toString() {
-        return name().toLowerCase();
+        return letters;
     }
 }
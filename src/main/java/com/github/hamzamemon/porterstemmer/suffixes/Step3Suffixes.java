@@ -24,9 +24,11 @@ public enum Step3Suffixes {
     FUL("");
     
     private final String suffix;
+    private final String letters;
     
     Step3Suffixes(String suffix) {
         this.suffix = suffix;
+        this.letters = name().toLowerCase();
     }
     
     /**
@@ -45,6 +47,6 @@ public enum Step3Suffixes {
      */
     @Override
     public String toString() {
-        return name().toLowerCase();
+        return letters;
     }
 }
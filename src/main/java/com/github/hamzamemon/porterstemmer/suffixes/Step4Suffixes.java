@@ -31,9 +31,11 @@ public enum Step4Suffixes {
     IC("");
     
     private final String suffix;
+    private final String letters;
     
     Step4Suffixes(String suffix) {
         this.suffix = suffix;
+        this.letters = name().toLowerCase();
     }
     
     /**
@@ -52,6 +54,6 @@ public enum Step4Suffixes {
      */
     @Override
     public String toString() {
-        return name().toLowerCase();
+        return letters;
     }
 }
@@ -0,0 +1,200 @@
+package com.github.hamzamemon.porterstemmer.suffixes;
+
+import com.github.hamzamemon.porterstemmer.constants.PorterStemmerConstants;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Generates SuffixMatcher, which finds the suffixes of each step with nested switches on the letters of a word read
+ * backwards instead of walking a {@link SuffixTrie}. Maven runs this in the generate-sources phase, so changing a
+ * suffix enum or {@link PorterStemmerConstants#STEP_1B_SUFFIXES} regenerates the matcher on the next build
+ */
+public final class SuffixMatcherGenerator {
+    
+    private static final String CLASS_NAME = "SuffixMatcher";
+    private static final String INDENT = "    ";
+    
+    /**
+     * Constructor for SuffixMatcherGenerator
+     */
+    private SuffixMatcherGenerator() {
+    }
+    
+    /**
+     * Writes SuffixMatcher.java
+     *
+     * @param args the generated sources directory
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: SuffixMatcherGenerator <generated sources directory>");
+            System.exit(1);
+        }
+        
+        String packageName = SuffixMatcherGenerator.class.getPackageName();
+        Path output = Paths.get(args[0], packageName.split("\\.")).resolve(CLASS_NAME + ".java");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, generate(), StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Generates the source of SuffixMatcher
+     *
+     * @return the source
+     */
+    static String generate() {
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(SuffixMatcherGenerator.class.getPackageName()).append(";\n\n");
+        source.append("/**\n");
+        source.append(" * Finds the suffixes of the Porter Stemmer steps with nested switches on the letters of a word, read\n");
+        source.append(" * backwards. Generated by SuffixMatcherGenerator, do not edit\n");
+        source.append(" */\n");
+        source.append("public final class ").append(CLASS_NAME).append(" {\n");
+        source.append(INDENT).append("\n");
+        source.append(INDENT).append("/**\n");
+        source.append(INDENT).append(" * Constructor for ").append(CLASS_NAME).append("\n");
+        source.append(INDENT).append(" */\n");
+        source.append(INDENT).append("private ").append(CLASS_NAME).append("() {\n");
+        source.append(INDENT).append("}\n");
+        
+        appendEnumMatcher(source, "matchStep2", Step2Suffixes.values());
+        appendEnumMatcher(source, "matchStep3", Step3Suffixes.values());
+        appendEnumMatcher(source, "matchStep4", Step4Suffixes.values());
+        
+        List<String> suffixes = new ArrayList<>();
+        List<String> results = new ArrayList<>();
+        for (String suffix : PorterStemmerConstants.STEP_1B_SUFFIXES) {
+            suffixes.add(suffix);
+            results.add(String.valueOf(suffix.length()));
+        }
+        source.append(INDENT).append("\n");
+        source.append(INDENT).append("/**\n");
+        source.append(INDENT).append(" * Finds the Step 1b suffix of the first letters of a word\n");
+        source.append(INDENT).append(" *\n");
+        source.append(INDENT).append(" * @param word     the buffer holding the word\n");
+        source.append(INDENT).append(" * @param length   the number of letters in the word\n");
+        source.append(INDENT).append(" * @param minStart the smallest index where the suffix may start\n");
+        source.append(INDENT).append(" * @return the length of the suffix, or 0 if none matches\n");
+        source.append(INDENT).append(" */\n");
+        appendMatcher(source, "int", "matchStep1b", "0", suffixes, results);
+        
+        source.append("}\n");
+        return source.toString();
+    }
+    
+    /**
+     * Appends the matcher of a suffix enum
+     *
+     * @param source     the source being generated
+     * @param methodName the name of the matcher
+     * @param values     the enum values, declared so that a suffix comes before every shorter suffix it ends with
+     * @param <E>        the suffix enum
+     */
+    private static <E extends Enum<E>> void appendEnumMatcher(StringBuilder source, String methodName, E[] values) {
+        String type = values[0].getDeclaringClass().getSimpleName();
+        List<String> suffixes = new ArrayList<>();
+        List<String> results = new ArrayList<>();
+        for (E value : values) {
+            suffixes.add(value.toString());
+            results.add(type + "." + value.name());
+        }
+        
+        source.append(INDENT).append("\n");
+        source.append(INDENT).append("/**\n");
+        source.append(INDENT).append(" * Finds the longest ").append(type).append(" suffix of the first letters of a word\n");
+        source.append(INDENT).append(" *\n");
+        source.append(INDENT).append(" * @param word     the buffer holding the word\n");
+        source.append(INDENT).append(" * @param length   the number of letters in the word\n");
+        source.append(INDENT).append(" * @param minStart the smallest index where the suffix may start\n");
+        source.append(INDENT).append(" * @return the suffix, or null if none matches\n");
+        source.append(INDENT).append(" */\n");
+        appendMatcher(source, type, methodName, "null", suffixes, results);
+    }
+    
+    /**
+     * Appends a matcher that returns the result of the longest suffix a word ends with
+     *
+     * @param source     the source being generated
+     * @param returnType the type of the results
+     * @param methodName the name of the matcher
+     * @param none       the result when no suffix matches
+     * @param suffixes   the suffixes, a suffix declared before every shorter suffix it ends with
+     * @param results    the result of each suffix
+     */
+    private static void appendMatcher(StringBuilder source, String returnType, String methodName, String none,
+                                      List<String> suffixes, List<String> results) {
+        Node root = new Node();
+        for (int i = 0; i < suffixes.size(); i++) {
+            String suffix = suffixes.get(i);
+            Node node = root;
+            for (int j = suffix.length() - 1; j >= 0; j--) {
+                char letter = suffix.charAt(j);
+                if (letter < 'a' || letter > 'z') {
+                    throw new IllegalArgumentException("Suffix must be lowercase letters: " + suffix);
+                }
+                
+                node = node.children.computeIfAbsent(letter, key -> new Node());
+                if (node.result != null) {
+                    // an earlier, shorter suffix (or the same one) would win over this one in declaration order
+                    throw new IllegalArgumentException(suffix + " is declared after a suffix it overlaps");
+                }
+            }
+            node.result = results.get(i);
+        }
+        
+        source.append(INDENT).append("public static ").append(returnType).append(' ').append(methodName)
+                .append("(char[] word, int length, int minStart) {\n");
+        source.append(INDENT).append(INDENT).append("int letters = length - Math.max(minStart, 0);\n");
+        appendNode(source, root, 0, none, 2);
+        source.append(INDENT).append("}\n");
+    }
+    
+    /**
+     * Appends the switch on the next letter of a node, or the return of a leaf
+     *
+     * @param source the source being generated
+     * @param node   the node
+     * @param depth  the number of letters matched to reach the node
+     * @param best   the result of the longest suffix matched so far
+     * @param indent the indentation level
+     */
+    private static void appendNode(StringBuilder source, Node node, int depth, String best, int indent) {
+        String prefix = INDENT.repeat(indent);
+        if (node.children.isEmpty()) {
+            source.append(prefix).append("return ").append(best).append(";\n");
+            return;
+        }
+        
+        int next = depth + 1;
+        source.append(prefix).append("if (letters < ").append(next).append(") {\n");
+        source.append(prefix).append(INDENT).append("return ").append(best).append(";\n");
+        source.append(prefix).append("}\n");
+        source.append(prefix).append("switch (word[length - ").append(next).append("]) {\n");
+        for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+            Node child = entry.getValue();
+            source.append(prefix).append(INDENT).append("case '").append(entry.getKey()).append("':\n");
+            appendNode(source, child, next, child.result == null ? best : child.result, indent + 2);
+        }
+        source.append(prefix).append(INDENT).append("default:\n");
+        source.append(prefix).append(INDENT).append(INDENT).append("return ").append(best).append(";\n");
+        source.append(prefix).append("}\n");
+    }
+    
+    /**
+     * Node of the trie of reversed suffixes the switches are generated from
+     */
+    private static final class Node {
+        
+        private final Map<Character, Node> children = new TreeMap<>();
+        private String result;
+    }
+}
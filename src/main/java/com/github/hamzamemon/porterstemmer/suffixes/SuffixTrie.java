@@ -0,0 +1,98 @@
+package com.github.hamzamemon.porterstemmer.suffixes;
+
+import java.util.Arrays;
+
+/**
+ * Trie of reversed suffixes, built once from a suffix enum, that finds the longest suffix of a word in one backward
+ * pass instead of checking every suffix with endsWith
+ *
+ * @param <E> the suffix enum, whose toString is the suffix
+ */
+public final class SuffixTrie<E extends Enum<E>> {
+    
+    private static final int ALPHABET = 26;
+    
+    private int[] children = new int[ALPHABET * 8];
+    private Object[] suffixes = new Object[8];
+    private int nodes = 1;
+    
+    /**
+     * Constructor for SuffixTrie
+     *
+     * @param values the enum values, declared so that a suffix comes before every shorter suffix it ends with
+     */
+    public SuffixTrie(E[] values) {
+        for (E value : values) {
+            add(value);
+        }
+    }
+    
+    /**
+     * Adds a suffix, checking it does not override one declared before it
+     *
+     * @param value the suffix
+     */
+    private void add(E value) {
+        String letters = value.toString();
+        int node = 0;
+        for (int i = letters.length() - 1; i >= 0; i--) {
+            int letter = letters.charAt(i) - 'a';
+            if (letter < 0 || letter >= ALPHABET) {
+                throw new IllegalArgumentException("Suffix must be lowercase letters: " + letters);
+            }
+            
+            int child = children[node * ALPHABET + letter];
+            if (child == 0) {
+                child = newNode();
+                children[node * ALPHABET + letter] = child;
+            } else if (suffixes[child] != null) {
+                // an earlier, shorter suffix (or the same one) would win over this one in declaration order
+                throw new IllegalArgumentException(value + " is declared after a suffix it overlaps");
+            }
+            node = child;
+        }
+        suffixes[node] = value;
+    }
+    
+    /**
+     * Creates an empty node
+     *
+     * @return the node
+     */
+    private int newNode() {
+        if (nodes == suffixes.length) {
+            suffixes = Arrays.copyOf(suffixes, nodes << 1);
+            children = Arrays.copyOf(children, (nodes << 1) * ALPHABET);
+        }
+        return nodes++;
+    }
+    
+    /**
+     * Finds the longest suffix of the first letters of a word
+     *
+     * @param word     the buffer holding the word
+     * @param length   the number of letters in the word
+     * @param minStart the smallest index where the suffix may start
+     * @return the suffix, or null if none matches
+     */
+    @SuppressWarnings("unchecked")
+    public E longestMatch(char[] word, int length, int minStart) {
+        Object match = null;
+        int node = 0;
+        for (int i = length - 1; i >= Math.max(minStart, 0); i--) {
+            int letter = word[i] - 'a';
+            if (letter < 0 || letter >= ALPHABET) {
+                break;
+            }
+            
+            node = children[node * ALPHABET + letter];
+            if (node == 0) {
+                break;
+            }
+            if (suffixes[node] != null) {
+                match = suffixes[node];
+            }
+        }
+        return (E) match;
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.hamzamemon.porterstemmer.util;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Classifies the letters of a buffer of words in bulk: which letters are vowels, and whether every letter is ASCII and
+ * lowercase. Implementations are found with {@link ServiceLoader}, so an optional module such as porterstemmer-vector
+ * can provide a SIMD classifier, and must be safe to use from multiple threads
+ */
+public interface LetterClassifier {
+    
+    /**
+     * Flag set if every letter is ASCII
+     */
+    int ASCII = 1;
+    
+    /**
+     * Flag set if every letter is a lowercase ASCII letter
+     */
+    int LOWERCASE = 2;
+    
+    /**
+     * Gets the first classifier provided on the class path or module path that can run in this JVM, or the scalar one
+     *
+     * @return the classifier
+     */
+    static LetterClassifier getDefault() {
+        try {
+            for (LetterClassifier classifier : ServiceLoader.load(LetterClassifier.class)) {
+                if (classifier.isSupported()) {
+                    return classifier;
+                }
+            }
+        } catch (ServiceConfigurationError | LinkageError e) {
+            // e.g. the vector classifier without --add-modules jdk.incubator.vector
+        }
+        return ScalarLetterClassifier.INSTANCE;
+    }
+    
+    /**
+     * Classifies letters, a letter being a vowel exactly when {@link WordMethods#isVowel(char)} says so
+     *
+     * @param letters the buffer holding the letters
+     * @param offset  the index of the first letter
+     * @param length  the number of letters
+     * @param vowels  where the class of each letter is written, from index 0
+     * @return {@link #ASCII} and {@link #LOWERCASE}, set if every letter is such
+     */
+    int classify(char[] letters, int offset, int length, boolean[] vowels);
+    
+    /**
+     * Determines if this classifier can run in this JVM
+     *
+     * @return if it is supported
+     */
+    default boolean isSupported() {
+        return true;
+    }
+}
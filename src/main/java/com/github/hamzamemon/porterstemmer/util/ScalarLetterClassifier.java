@@ -0,0 +1,24 @@
+package com.github.hamzamemon.porterstemmer.util;
+
+/**
+ * {@link LetterClassifier} looking at one letter at a time, used when no faster classifier is available
+ */
+public enum ScalarLetterClassifier implements LetterClassifier {
+    
+    INSTANCE;
+    
+    @Override
+    public int classify(char[] letters, int offset, int length, boolean[] vowels) {
+        int flags = ASCII | LOWERCASE;
+        for (int i = 0; i < length; i++) {
+            char letter = letters[offset + i];
+            vowels[i] = WordMethods.isVowel(letter);
+            if (letter >= 0x80) {
+                flags &= ~(ASCII | LOWERCASE);
+            } else if (letter < 'a' || letter > 'z') {
+                flags &= ~LOWERCASE;
+            }
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,178 @@
+package com.github.hamzamemon.porterstemmer.util;
+
+/**
+ * Vowel and consonant classes of a word, computed in one pass together with the number of runs of Vs and Cs in every
+ * prefix. Measure, vowel and short syllable checks on any prefix of the word are then O(1) lookups. Removing a suffix
+ * needs no update, changing or appending letters needs {@link #update(int, int)} from the first changed letter.
+ * An analysis is reused from word to word and must only be used by one thread
+ */
+public final class WordAnalysis {
+    
+    private char[] word;
+    private boolean[] vowels = new boolean[32];
+    private int[] runs = new int[32];
+    
+    /**
+     * Classifies every letter of a word
+     *
+     * @param word   the buffer holding the word, kept until the next call
+     * @param length the number of letters in the word
+     */
+    public void analyze(char[] word, int length) {
+        this.word = word;
+        if (vowels.length < word.length) {
+            vowels = new boolean[word.length];
+            runs = new int[word.length];
+        }
+        update(0, length);
+    }
+    
+    /**
+     * Classifies the letters from an index on, after they were changed or appended
+     *
+     * @param from   the index of the first changed letter
+     * @param length the number of letters in the word
+     */
+    public void update(int from, int length) {
+        for (int i = from; i < length; i++) {
+            vowels[i] = WordMethods.isVowel(word[i]);
+        }
+        countRuns(from, length);
+    }
+    
+    /**
+     * Classifies every letter of a word from the classes a {@link LetterClassifier} gave its letters beforehand,
+     * turning each "y" that {@link WordMethods#setCapitalYs(char[], int)} would capitalize into a consonant "Y"
+     *
+     * @param word         the buffer holding the word, kept until the next call, its "y"s capitalized
+     * @param length       the number of letters in the word
+     * @param letterVowels the classes of the letters
+     * @param offset       the index of the class of the first letter
+     */
+    public void analyze(char[] word, int length, boolean[] letterVowels, int offset) {
+        this.word = word;
+        if (vowels.length < word.length) {
+            vowels = new boolean[word.length];
+            runs = new int[word.length];
+        }
+        
+        System.arraycopy(letterVowels, offset, vowels, 0, length);
+        for (int i = 0; i < length; i++) {
+            if (word[i] == 'y' && (i == 0 || vowels[i - 1])) {
+                word[i] = 'Y';
+                vowels[i] = false;
+            }
+        }
+        countRuns(0, length);
+    }
+    
+    /**
+     * Counts the runs of Vs and Cs in every prefix ending at or after an index
+     *
+     * @param from   the index of the first changed letter
+     * @param length the number of letters in the word
+     */
+    private void countRuns(int from, int length) {
+        for (int i = from; i < length; i++) {
+            if (i == 0) {
+                runs[i] = 1;
+            } else {
+                runs[i] = vowels[i] == vowels[i - 1] ? runs[i - 1] : runs[i - 1] + 1;
+            }
+        }
+    }
+    
+    /**
+     * Determines if a letter is a vowel
+     *
+     * @param index the index of the letter
+     * @return is vowel or not
+     */
+    public boolean isVowel(int index) {
+        return vowels[index];
+    }
+    
+    /**
+     * Gets the index of the first consonant following a vowel at or after an index, which is R1 from 0 and R2 from R1
+     *
+     * @param start  the index to start from
+     * @param length the number of letters in the word
+     * @return the index, or length if there is none
+     */
+    public int getIndexOfConsonantAfterVowel(int start, int length) {
+        for (int i = start + 1; i < length; i++) {
+            if (vowels[i - 1] && !vowels[i]) {
+                return i;
+            }
+        }
+        return Math.max(start, length);
+    }
+    
+    /**
+     * Number of CV pairs in a prefix of the word
+     *
+     * @param length the length of the prefix
+     * @return number of pairs
+     */
+    public int getMeasure(int length) {
+        if (length <= 0) {
+            return 0;
+        }
+        
+        int prefixRuns = runs[length - 1];
+        if (prefixRuns <= 1) {
+            return 0;
+        }
+        if (!vowels[0]) {
+            return prefixRuns - 1 >> 1;
+        }
+        return prefixRuns >> 1;
+    }
+    
+    /**
+     * Determines if a prefix of the word contains a vowel
+     *
+     * @param length the length of the prefix
+     * @return if there is a vowel or not
+     */
+    public boolean containsVowel(int length) {
+        return length > 0 && (vowels[0] || runs[length - 1] > 1);
+    }
+    
+    /**
+     * Determines if a prefix of the word ends with a short syllable
+     *
+     * @param length the length of the prefix
+     * @return if the prefix ends with a short syllable
+     */
+    public boolean endsWithShortSyllable(int length) {
+        if (length < 2) {
+            // V, C
+            return false;
+        }
+        
+        if (length == 2) {
+            // VC
+            return vowels[0] && !vowels[1];
+        }
+        
+        char last = word[length - 1];
+        if (last == 'w' || last == 'x' || last == 'Y') {
+            // **w, **x, **Y
+            return false;
+        }
+        
+        // *CVC
+        return !vowels[length - 3] && vowels[length - 2] && !vowels[length - 1];
+    }
+    
+    /**
+     * Determines if a prefix of the word is "short"
+     *
+     * @param length the length of the prefix
+     * @return if the prefix is short or not
+     */
+    public boolean isShort(int length) {
+        return endsWithShortSyllable(length) && getMeasure(length) == 1;
+    }
+}
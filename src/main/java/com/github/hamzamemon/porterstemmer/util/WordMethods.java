@@ -2,17 +2,12 @@ package com.github.hamzamemon.porterstemmer.util;
 
 import com.github.hamzamemon.porterstemmer.constants.PorterStemmerConstants;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
- * Methods to handle the Porter Stemmer algorithm
+ * Methods to handle the Porter Stemmer algorithm. Nothing is memoized, every method computes its result from the
+ * letters it is given, so the methods keep no state and are safe to call from multiple threads
  */
 public final class WordMethods {
     
-    private static Map<String, StringBuilder> mapCapitalYs = new HashMap<>();
-    private static Map<String, String> stringToLetterTypes = new HashMap<>();
-    
     /**
      * Determines if a letter is a vowel or not
      *
@@ -20,17 +15,86 @@ public final class WordMethods {
      * @return vowel or consonant
      */
     public static char getLetterType(char letter) {
-        return PorterStemmerConstants.VOWELS.indexOf(letter) >= 0 ? PorterStemmerConstants.VOWEL : PorterStemmerConstants.CONSONANT;
+        return isVowel(letter) ? PorterStemmerConstants.VOWEL : PorterStemmerConstants.CONSONANT;
     }
     
     /**
-     * Determines is the letter is a vowel
+     * Determines is the letter is one of PorterStemmerConstants.VOWELS
      *
      * @param letter the letter
      * @return is vowel or not
      */
-    private static boolean isVowel(char letter) {
-        return getLetterType(letter) == PorterStemmerConstants.VOWEL;
+    public static boolean isVowel(char letter) {
+        switch (letter) {
+            case 'a', 'e', 'i', 'o', 'u', 'y':
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * Normalizes a letter the way Porter2 expects its input: lowercase, with every apostrophe variant (U+2018, U+2019 and
+     * U+201B) folded into "'"
+     *
+     * @param letter the letter
+     * @return the normalized letter
+     */
+    public static char normalize(char letter) {
+        if (letter <= 'Z') {
+            return letter >= 'A' ? (char) (letter | 0x20) : letter;
+        }
+        if (letter < 0x80) {
+            return letter;
+        }
+        
+        switch (letter) {
+            case '\u2018', '\u2019', '\u201B':
+                return '\'';
+            default:
+                return Character.toLowerCase(letter);
+        }
+    }
+    
+    /**
+     * Normalizes every letter of a word, see {@link #normalize(char)}
+     *
+     * @param word the word
+     * @return the normalized word
+     */
+    public static String normalize(String word) {
+        char[] letters = word.toCharArray();
+        normalize(letters, 0, letters.length);
+        return new String(letters);
+    }
+    
+    /**
+     * Normalizes every letter of a word in place, see {@link #normalize(char)}
+     *
+     * @param word   the buffer holding the word
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     */
+    public static void normalize(char[] word, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            word[i] = normalize(word[i]);
+        }
+    }
+    
+    /**
+     * Determines if every letter of a word is already normalized
+     *
+     * @param word the word
+     * @return if normalizing the word would not change it
+     */
+    public static boolean isNormalized(CharSequence word) {
+        for (int i = 0, length = word.length(); i < length; i++) {
+            char letter = word.charAt(i);
+            if (normalize(letter) != letter) {
+                return false;
+            }
+        }
+        return true;
     }
     
     /**
@@ -40,35 +104,68 @@ public final class WordMethods {
      * @return if term ends with double or not
      */
     public static boolean endsWithDouble(String termS) {
-        return PorterStemmerConstants.DOUBLES.matcher(termS.toLowerCase()).matches();
+        int length = termS.length();
+        return length >= 2 && isDouble(termS.charAt(length - 2), termS.charAt(length - 1));
+    }
+    
+    /**
+     * Determines if the first letters of a word end in a double consonant
+     *
+     * @param word   the buffer holding the word
+     * @param length the number of letters to look at
+     * @return if the letters end with a double or not
+     */
+    public static boolean endsWithDouble(char[] word, int length) {
+        return length >= 2 && isDouble(word[length - 2], word[length - 1]);
+    }
+    
+    /**
+     * Determines if two letters are the same double consonant, ignoring case
+     *
+     * @param first  the first letter
+     * @param second the second letter
+     * @return if the letters are a double or not
+     */
+    private static boolean isDouble(char first, char second) {
+        if (first == second && first >= 'a') {
+            // lowercase letters, as normalized words are, need no case folding
+            return PorterStemmerConstants.DOUBLE_CONSONANTS.indexOf(first) >= 0;
+        }
+        char letter = Character.toLowerCase(second);
+        return letter == Character.toLowerCase(first) && PorterStemmerConstants.DOUBLE_CONSONANTS.indexOf(letter) >= 0;
     }
     
     /**
-     * Set "y" to "Y" if preceded by a consonant that's not the first letter or if first letter is "y"
+     * Set "y" to "Y" if preceded by a vowel or if first letter is "y"
      *
      * @param term the word
      */
     public static void setCapitalYs(StringBuilder term) {
-        String termS = term.toString().toLowerCase();
-        if (mapCapitalYs.containsKey(termS)) {
-            term = mapCapitalYs.get(termS);
-            return;
+        if (!term.isEmpty() && term.charAt(0) == 'y') {
+            term.setCharAt(0, 'Y');
         }
-        
-        if (termS.contains("y")) {
-            if (term.charAt(0) == 'y') {
-                term = term.replace(0, 1, "Y");
+        for (int i = 1, length = term.length(); i < length; i++) {
+            if (term.charAt(i) == 'y' && isVowel(term.charAt(i - 1))) {
+                term.setCharAt(i, 'Y');
             }
-            for (int i = 1, length = term.length(); i < length; i++) {
-                if (term.charAt(i) == 'y') {
-                    if (isVowel(term.charAt(i - 1))) {
-                        term = term.replace(i, i + 1, "Y");
-                    }
-                }
+        }
+    }
+    
+    /**
+     * Set "y" to "Y" if preceded by a vowel or if first letter is "y", in place
+     *
+     * @param word   the buffer holding the word
+     * @param length the number of letters in the word
+     */
+    public static void setCapitalYs(char[] word, int length) {
+        if (length > 0 && word[0] == 'y') {
+            word[0] = 'Y';
+        }
+        for (int i = 1; i < length; i++) {
+            if (word[i] == 'y' && isVowel(word[i - 1])) {
+                word[i] = 'Y';
             }
         }
-        
-        mapCapitalYs.put(termS, term);
     }
     
     /**
@@ -81,6 +178,17 @@ public final class WordMethods {
         return endsWithShortSyllable(termS) && getMeasure(termS) == 1;
     }
     
+    /**
+     * Determines if the first letters of a word are "short"
+     *
+     * @param word   the buffer holding the word
+     * @param length the number of letters to look at
+     * @return if the letters are short or not
+     */
+    public static boolean isShort(char[] word, int length) {
+        return endsWithShortSyllable(word, length) && getMeasure(word, length) == 1;
+    }
+    
     /**
      * Determines if word is a short syllable:
      * Vowel followed by consonant (not "w", "x" or "Y" and preceded by consonant
@@ -113,6 +221,50 @@ public final class WordMethods {
         return !isVowel(thirdLast) && isVowel(secondLast) && !isVowel(last);
     }
     
+    /**
+     * Determines if the first letters of a word end with a short syllable
+     *
+     * @param word   the buffer holding the word
+     * @param length the number of letters to look at
+     * @return if the letters end with a short syllable
+     */
+    public static boolean endsWithShortSyllable(char[] word, int length) {
+        if (length < 2) {
+            // V, C
+            return false;
+        }
+        
+        if (length == 2) {
+            // VC
+            return isVowel(word[0]) && !isVowel(word[1]);
+        }
+        
+        char last = word[length - 1];
+        if (last == 'w' || last == 'x' || last == 'Y') {
+            // **w, **x, **Y
+            return false;
+        }
+        
+        // *CVC
+        return !isVowel(word[length - 3]) && isVowel(word[length - 2]) && !isVowel(last);
+    }
+    
+    /**
+     * Determines if the first letters of a word contain a vowel
+     *
+     * @param word   the buffer holding the word
+     * @param length the number of letters to look at
+     * @return if there is a vowel or not
+     */
+    public static boolean containsVowel(char[] word, int length) {
+        for (int i = 0; i < length; i++) {
+            if (isVowel(word[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * Convert word to Vs and Cs (vowel and consonant)
      *
@@ -120,10 +272,6 @@ public final class WordMethods {
      * @return the converted word
      */
     public static String getLetterTypes(String word) {
-        if (stringToLetterTypes.containsKey(word)) {
-            return stringToLetterTypes.get(word);
-        }
-        
         StringBuilder letterTypes = new StringBuilder(word.length());
         for (int i = 0, length = word.length(); i < length; i++) {
             char letter = word.charAt(i);
@@ -133,9 +281,7 @@ public final class WordMethods {
             }
         }
         
-        String letterTypesS = letterTypes.toString();
-        stringToLetterTypes.put(word, letterTypesS);
-        return letterTypesS;
+        return letterTypes.toString();
     }
     
     /**
@@ -145,14 +291,66 @@ public final class WordMethods {
      * @return number of pairs
      */
     public static int getMeasure(String word) {
-        String letterTypes = getLetterTypes(word);
-        if (letterTypes.length() <= 1) {
+        int length = word.length();
+        if (length == 0) {
+            return 0;
+        }
+        
+        // Number of runs of Vs and Cs, i.e. the length of getLetterTypes
+        int runs = 1;
+        boolean previous = isVowel(word.charAt(0));
+        for (int i = 1; i < length; i++) {
+            boolean current = isVowel(word.charAt(i));
+            if (current != previous) {
+                runs++;
+                previous = current;
+            }
+        }
+        
+        return getMeasure(runs, isVowel(word.charAt(0)));
+    }
+    
+    /**
+     * Number of CV pairs in the first letters of a word, counted without building the Vs and Cs
+     *
+     * @param word   the buffer holding the word
+     * @param length the number of letters to look at
+     * @return number of pairs
+     */
+    public static int getMeasure(char[] word, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        
+        // Number of runs of Vs and Cs, i.e. the length of getLetterTypes
+        int runs = 1;
+        boolean previous = isVowel(word[0]);
+        for (int i = 1; i < length; i++) {
+            boolean current = isVowel(word[i]);
+            if (current != previous) {
+                runs++;
+                previous = current;
+            }
+        }
+        
+        return getMeasure(runs, isVowel(word[0]));
+    }
+    
+    /**
+     * Number of CV pairs from the number of runs of Vs and Cs
+     *
+     * @param runs            the number of runs
+     * @param startsWithVowel if the first run is Vs
+     * @return number of pairs
+     */
+    private static int getMeasure(int runs, boolean startsWithVowel) {
+        if (runs <= 1) {
             return 0;
         }
-        if (letterTypes.charAt(0) == 'C') {
-            return letterTypes.length() - 1 >> 1;
+        if (!startsWithVowel) {
+            return runs - 1 >> 1;
         }
-        return letterTypes.length() >> 1;
+        return runs >> 1;
     }
     
     /**
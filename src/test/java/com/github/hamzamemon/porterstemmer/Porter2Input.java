@@ -0,0 +1,67 @@
+package com.github.hamzamemon.porterstemmer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * The words of porter2Input.txt and their expected stems, read once and shared by every test that uses them. A file
+ * that cannot be read fails the test instead of leaving it with no words to check
+ */
+public final class Porter2Input {
+    
+    private static final Path PATH = Paths.get("./src/test/resources/porter2Input.txt");
+    
+    private static List<String> words;
+    private static List<String> stems;
+    
+    /**
+     * Gets the words
+     *
+     * @return the words, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static synchronized List<String> words() throws IOException {
+        load();
+        return words;
+    }
+    
+    /**
+     * Gets the expected stems
+     *
+     * @return the stem of each word, in the same order as {@link #words()}
+     * @throws IOException if the file cannot be read
+     */
+    public static synchronized List<String> stems() throws IOException {
+        load();
+        return stems;
+    }
+    
+    /**
+     * Reads the file the first time it is needed
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private static void load() throws IOException {
+        if (words != null) {
+            return;
+        }
+        
+        List<String> inputs = new ArrayList<>();
+        List<String> outputs = new ArrayList<>();
+        try (Scanner porter2Input = new Scanner(PATH)) {
+            while (porter2Input.hasNext()) {
+                inputs.add(porter2Input.next());
+                outputs.add(porter2Input.next());
+            }
+        }
+        words = List.copyOf(inputs);
+        stems = List.copyOf(outputs);
+    }
+    
+    private Porter2Input() {
+    }
+}
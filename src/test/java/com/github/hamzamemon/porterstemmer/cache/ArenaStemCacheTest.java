@@ -0,0 +1,111 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import com.github.hamzamemon.porterstemmer.stemming.Stemmer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArenaStemCacheTest {
+    
+    @Test
+    public void validateStems() throws IOException {
+        List<String> inputs = Porter2Input.words();
+        List<String> outputs = Porter2Input.stems();
+        
+        // small enough that the generations turn over many times
+        Stemmer stemmer = Stemmer.builder().cachePolicy(CachePolicy.ARENA).cacheCapacity(512).build();
+        char[] buffer = new char[64];
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < inputs.size(); i++) {
+                String input = inputs.get(i);
+                input.getChars(0, input.length(), buffer, 3);
+                int length = stemmer.stem(buffer, 3, input.length());
+                
+                assertEquals(outputs.get(i), new String(buffer, 3, length));
+                assertEquals(outputs.get(i), stemmer.stem(input));
+            }
+        }
+        
+        CacheStats stats = stemmer.getCache().stats();
+        assertTrue(stats.getHits() > 0);
+        assertTrue(stats.getEvictions() > 0);
+        assertTrue(stats.getSize() <= stats.getCapacity());
+    }
+    
+    @Test
+    public void test_get() {
+        ArenaStemCache cache = new ArenaStemCache(16);
+        assertNull(cache.get("generation"));
+        
+        cache.put("generation", "generat");
+        cache.put("sky", "sky");
+        assertEquals("generat", cache.get("generation"));
+        
+        String sky = new String("sky".toCharArray());
+        assertSame(sky, cache.get(sky));
+        
+        char[] buffer = "xxgenerationxx".toCharArray();
+        assertEquals(7, cache.get(buffer, 2, 10, buffer, 2));
+        assertEquals("generat", new String(buffer, 2, 7));
+        assertEquals(-1, cache.get(buffer, 2, 7, buffer, 2));
+        
+        CacheStats stats = cache.stats();
+        assertEquals(3, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getSize());
+    }
+    
+    @Test
+    public void test_put_EvictsOldGeneration() {
+        ArenaStemCache cache = new ArenaStemCache(16, 1);
+        for (int i = 0; i < 8; i++) {
+            cache.put("word" + i, "stem" + i);
+        }
+        
+        // word0 moves into the new generation, which the next 7 words fill
+        cache.put("word8", "stem8");
+        assertEquals("stem0", cache.get("word0"));
+        for (int i = 9; i < 15; i++) {
+            cache.put("word" + i, "stem" + i);
+        }
+        assertEquals(15, cache.size());
+        
+        // starting a third generation drops the first except for word0
+        cache.put("word15", "stem15");
+        assertEquals("stem0", cache.get("word0"));
+        assertNull(cache.get("word1"));
+        assertEquals(7, cache.stats().getEvictions());
+        
+        Map<String, String> entries = new HashMap<>();
+        cache.forEach(entries::put);
+        assertEquals(cache.size(), entries.size());
+        assertEquals("stem15", entries.get("word15"));
+    }
+    
+    @Test
+    public void test_clear() {
+        ArenaStemCache cache = new ArenaStemCache(16);
+        cache.put("generation", "generat");
+        cache.clear();
+        
+        assertEquals(0, cache.size());
+        assertNull(cache.get("generation"));
+        assertTrue(cache.getFootprint() > 0);
+    }
+    
+    @Test
+    public void test_constructor_InvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ArenaStemCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new ArenaStemCache(16, 0));
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CacheSnapshotTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    public void test_write_RoundTrip() throws IOException {
+        List<String> inputs = Porter2Input.words();
+        List<String> outputs = Porter2Input.stems();
+        
+        LruStemCache cache = new LruStemCache(inputs.size() * 2);
+        for (int i = 0; i < inputs.size(); i++) {
+            cache.put(inputs.get(i), outputs.get(i));
+        }
+        
+        Path path = directory.resolve("stems.snapshot");
+        assertEquals(cache.size(), CacheSnapshot.write(cache, path));
+        
+        LruStemCache restored = new LruStemCache(inputs.size() * 2);
+        assertEquals(cache.size(), CacheSnapshot.read(path, restored));
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals(outputs.get(i), restored.get(inputs.get(i)));
+        }
+    }
+    
+    @Test
+    public void test_write_KeepsMostRecentlyUsed() throws IOException {
+        LruStemCache cache = new LruStemCache(16, 1);
+        cache.put("generously", "generous");
+        cache.put("consignment", "consign");
+        cache.put("hopping", "hop");
+        cache.get("generously");
+        
+        Path path = directory.resolve("stems.snapshot");
+        assertEquals(2, CacheSnapshot.write(cache, path, 2));
+        
+        LruStemCache restored = new LruStemCache(16, 1);
+        CacheSnapshot.read(path, restored);
+        List<String> words = new ArrayList<>();
+        restored.forEach((word, stem) -> words.add(word));
+        assertEquals(Arrays.asList("hopping", "generously"), words);
+        assertNull(restored.get("consignment"));
+    }
+    
+    @Test
+    public void test_write_SkipsEntriesTooLongForWriteUtf() throws IOException {
+        LruStemCache cache = new LruStemCache(16);
+        cache.put("generously", "generous");
+        Path path = directory.resolve("stems.snapshot");
+        CacheSnapshot.write(cache, path);
+        
+        StemCache longStems = new LruStemCache(16);
+        longStems.put("hopping", "hop");
+        longStems.put("consignment", "c".repeat(70000));
+        longStems.put("\u00e9".repeat(40000), "\u00e9");
+        assertEquals(1, CacheSnapshot.write(longStems, path));
+        
+        LruStemCache restored = new LruStemCache(16);
+        assertEquals(1, CacheSnapshot.read(path, restored));
+        assertEquals("hop", restored.get("hopping"));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(path), files.collect(Collectors.toList()));
+        }
+    }
+    
+    @Test
+    public void test_write_PermissionsOfAnOrdinaryFile() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path path = directory.resolve("stems.snapshot");
+        CacheSnapshot.write(new LruStemCache(16), path);
+        CacheSnapshot.write(new LruStemCache(16), path);
+        
+        Path ordinary = Files.createFile(directory.resolve("ordinary"));
+        assertEquals(Files.getPosixFilePermissions(ordinary), Files.getPosixFilePermissions(path));
+    }
+    
+    @Test
+    public void test_read_UnchangedWordIsItsOwnStem() throws IOException {
+        String word = new String("ski".toCharArray());
+        LruStemCache cache = new LruStemCache(16);
+        cache.put(word, word);
+        
+        Path path = directory.resolve("stems.snapshot");
+        CacheSnapshot.write(cache, path);
+        LruStemCache restored = new LruStemCache(16);
+        CacheSnapshot.read(path, restored);
+        
+        List<String> words = new ArrayList<>();
+        restored.forEach((cached, stem) -> {
+            words.add(cached);
+            assertSame(cached, stem);
+        });
+        assertEquals(List.of("ski"), words);
+    }
+    
+    @Test
+    public void test_read_NotASnapshot() throws IOException {
+        Path path = Files.write(directory.resolve("words.txt"), "not a snapshot".getBytes());
+        
+        assertThrows(IOException.class, () -> CacheSnapshot.read(path, new LruStemCache(16)));
+    }
+    
+    @Test
+    public void test_preload() throws IOException {
+        Path wordList = Files.write(directory.resolve("ranked.txt"), List.of("the 1000", "generously 10", "hopping 1"));
+        LruStemCache cache = new LruStemCache(16, 1);
+        assertEquals(2, CacheSnapshot.preload(wordList, cache, 2));
+        
+        List<String> words = new ArrayList<>();
+        cache.forEach((word, stem) -> words.add(word));
+        assertEquals(Arrays.asList("generously", "the"), words);
+        assertEquals("generous", cache.get("generously"));
+        assertNull(cache.get("hopping"));
+    }
+}
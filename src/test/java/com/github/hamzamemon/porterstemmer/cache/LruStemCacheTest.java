@@ -0,0 +1,108 @@
+package com.github.hamzamemon.porterstemmer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LruStemCacheTest {
+    
+    @Test
+    public void test_get_CountsHitsAndMisses() {
+        LruStemCache cache = new LruStemCache(16);
+        assertNull(cache.get("generation"));
+        
+        cache.put("generation", "generat");
+        assertEquals("generat", cache.get("generation"));
+        
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+    
+    @Test
+    public void test_put_EvictsLeastRecentlyUsed() {
+        LruStemCache cache = new LruStemCache(16, 1);
+        for (int i = 0; i < 16; i++) {
+            cache.put("word" + i, "stem" + i);
+        }
+        
+        // word0 becomes the most recently used, so word1 is evicted instead
+        cache.get("word0");
+        cache.put("word16", "stem16");
+        
+        assertEquals("stem0", cache.get("word0"));
+        assertNull(cache.get("word1"));
+        assertEquals(16, cache.size());
+        assertEquals(1, cache.stats().getEvictions());
+    }
+    
+    @Test
+    public void test_put_ScanKeepsFrequentWords() {
+        LruStemCache cache = new LruStemCache(16, 1);
+        for (int i = 0; i < 16; i++) {
+            cache.put("word" + i, "stem" + i);
+        }
+        for (int i = 0; i < 4; i++) {
+            cache.get("word0");
+        }
+        
+        // each one-off token is looked up once and then cached, like a stemmer does on a miss. More tokens than the
+        // capacity pass between two uses of word0, so a plain LRU would have evicted it every time
+        for (int i = 0; i < 200; i++) {
+            if (i % 20 == 0) {
+                assertEquals("stem0", cache.get("word0"));
+            }
+            String token = "token" + i;
+            if (cache.get(token) == null) {
+                cache.put(token, token);
+            }
+        }
+        assertEquals(16, cache.size());
+    }
+    
+    @Test
+    public void test_put_StaysBoundedUnderConcurrency() throws InterruptedException {
+        LruStemCache cache = new LruStemCache(1024);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    String word = "word" + (i * 8 + offset);
+                    cache.put(word, word);
+                    cache.get(word);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertTrue(cache.size() <= cache.stats().getCapacity());
+        assertEquals(80000, cache.stats().getHits() + cache.stats().getMisses());
+    }
+    
+    @Test
+    public void test_clear() {
+        LruStemCache cache = new LruStemCache(16);
+        cache.put("generation", "generat");
+        cache.clear();
+        
+        assertEquals(0, cache.size());
+        assertNull(cache.get("generation"));
+    }
+    
+    @Test
+    public void test_constructor_InvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new LruStemCache(0));
+    }
+}
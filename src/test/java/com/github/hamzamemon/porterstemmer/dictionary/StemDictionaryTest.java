@@ -0,0 +1,99 @@
+package com.github.hamzamemon.porterstemmer.dictionary;
+
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import com.github.hamzamemon.porterstemmer.stemming.Stemmer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StemDictionaryTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    public void validateStems() throws IOException {
+        List<String> inputs = Porter2Input.words();
+        List<String> outputs = Porter2Input.stems();
+        
+        Path path = directory.resolve("stems.dict");
+        assertEquals(inputs.size(), StemDictionaryWriter.write(inputs, path));
+        StemDictionary dictionary = StemDictionary.open(path);
+        
+        int count = 0;
+        char[] buffer = new char[64];
+        for (int i = 0; i < inputs.size(); i++) {
+            String input = inputs.get(i);
+            input.getChars(0, input.length(), buffer, 0);
+            int length = dictionary.copyStem(dictionary.indexOf(buffer, 0, input.length()), buffer, 0);
+            
+            if (!outputs.get(i).equals(dictionary.get(input)) || !outputs.get(i).equals(new String(buffer, 0, length))) {
+                count++;
+                System.out.println(input + "=>" + dictionary.get(input) + " but should be " + outputs.get(i));
+            }
+        }
+        
+        assertEquals(0, count);
+    }
+    
+    @Test
+    public void test_get_UnknownWord() throws IOException {
+        Path path = directory.resolve("stems.dict");
+        StemDictionaryWriter.write(List.of("running", "sky", "generously"), path);
+        StemDictionary dictionary = StemDictionary.open(path);
+        
+        String sky = "sky";
+        assertSame(sky, dictionary.get(sky));
+        assertNull(dictionary.get("runnings"));
+        assertNull(dictionary.get("runnin"));
+        assertEquals(-1, dictionary.indexOf("a"));
+    }
+    
+    @Test
+    public void test_stem_FallsBackToAlgorithm() throws IOException {
+        Path path = directory.resolve("stems.dict");
+        StemDictionaryWriter.write(List.of("running"), path);
+        Stemmer stemmer = Stemmer.builder().dictionary(StemDictionary.open(path)).build();
+        
+        assertEquals("run", stemmer.stem("running"));
+        assertEquals("generous", stemmer.stem("generously"));
+        assertEquals(1, stemmer.getCache().size());
+        
+        StringBuilder stems = new StringBuilder();
+        stemmer.stem("running", stems);
+        assertEquals("run", stems.toString());
+    }
+    
+    @Test
+    public void test_stem_EveryEntryPointUsesDictionary() throws IOException {
+        Path path = directory.resolve("stems.dict");
+        StemDictionaryWriter.write(List.of("running"), path);
+        Stemmer stemmer = Stemmer.builder().dictionary(StemDictionary.open(path)).build();
+        
+        assertEquals("run", stemmer.stemNormalized("RUNNING"));
+        assertEquals("generous", stemmer.stemNormalized("Generously"));
+        assertEquals(1, stemmer.getCache().size());
+        assertEquals("generous", stemmer.getCache().get("generously"));
+        
+        char[] word = "RUNNING".toCharArray();
+        assertEquals("run", new String(word, 0, stemmer.stemNormalized(word, 0, word.length)));
+        assertEquals(List.of("run", "generous", "run"), stemmer.stemAll(List.of("running", "generously", "running")));
+    }
+    
+    @Test
+    public void test_open_NotADictionary() throws IOException {
+        Path path = directory.resolve("words.txt");
+        Files.writeString(path, "running run\n");
+        
+        assertThrows(IllegalArgumentException.class, () -> StemDictionary.open(path));
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.hamzamemon.porterstemmer.frequency;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StemCountsTest {
+    
+    @Test
+    public void test_add() {
+        StemCounts counts = new StemCounts();
+        counts.add("generous");
+        counts.add("generous");
+        counts.endDocument();
+        counts.add("generous");
+        counts.add("consign");
+        
+        assertEquals(3, counts.getCount("generous"));
+        assertEquals(2, counts.getDocumentFrequency("generous"));
+        assertEquals(1, counts.getDocumentFrequency("consign"));
+        assertEquals(0, counts.getCount("hop"));
+        assertEquals(2, counts.size());
+        assertEquals(4, counts.getTotal());
+    }
+    
+    @Test
+    public void test_add_Grows() {
+        StemCounts counts = new StemCounts();
+        for (int i = 0; i < 5000; i++) {
+            counts.add("stem" + i);
+            counts.add("stem" + (i / 2));
+        }
+        
+        assertEquals(5000, counts.size());
+        assertEquals(3, counts.getCount("stem10"));
+        assertEquals(1, counts.getCount("stem4999"));
+    }
+    
+    @Test
+    public void test_add_DropsLeastFrequent() {
+        StemCounts counts = new StemCounts(16);
+        for (int i = 0; i < 1000; i++) {
+            counts.add("frequent" + i % 4);
+            counts.add("rare" + i);
+        }
+        
+        assertTrue(counts.size() <= 16);
+        assertEquals(250, counts.getCount("frequent0"));
+        assertTrue(counts.getFootprint() <= 16 * 42 + 8192 * 2, "footprint " + counts.getFootprint());
+        assertEquals(2000, counts.getTotal());
+        assertEquals(counts.getTotal() - 1000, counts.getDroppedCount() + counts.size() - 4);
+    }
+    
+    @Test
+    public void test_add_TableNeverGrowsPastMaxStems() {
+        StemCounts counts = new StemCounts(4096);
+        for (int i = 0; i < 4096; i++) {
+            counts.add("stem" + (10000 + i));
+        }
+        long footprint = counts.getFootprint();
+        for (int i = 0; i < 100000; i++) {
+            counts.add("stem" + (20000 + i % 70000));
+        }
+        
+        assertTrue(counts.size() <= 4096);
+        assertEquals(footprint, counts.getFootprint());
+    }
+    
+    @Test
+    public void test_top() throws IOException {
+        StemCounts counts = new StemCounts();
+        for (int i = 1; i <= 10; i++) {
+            for (int j = 0; j < i; j++) {
+                counts.add("stem" + i);
+            }
+        }
+        
+        List<StemCount> top = counts.top(3);
+        assertEquals(3, top.size());
+        assertEquals("stem10", top.get(0).getStem());
+        assertEquals(10, top.get(0).getCount());
+        assertEquals("stem8", top.get(2).getStem());
+        assertEquals(10, counts.top(50).size());
+        
+        StringBuilder out = new StringBuilder();
+        counts.writeTop(out, 2);
+        assertEquals("stem10\t10\t1\nstem9\t9\t1\n", out.toString());
+    }
+    
+    @Test
+    public void test_addAll() {
+        StemCounts first = new StemCounts();
+        first.add("generous");
+        StemCounts second = new StemCounts();
+        second.add("generous");
+        second.add("generous");
+        second.add("hop");
+        
+        first.addAll(second);
+        assertEquals(3, first.getCount("generous"));
+        assertEquals(2, first.getDocumentFrequency("generous"));
+        assertEquals(4, first.getTotal());
+    }
+}
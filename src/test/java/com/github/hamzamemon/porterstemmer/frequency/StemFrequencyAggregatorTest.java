@@ -0,0 +1,52 @@
+package com.github.hamzamemon.porterstemmer.frequency;
+
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import com.github.hamzamemon.porterstemmer.stemming.PorterStemmer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StemFrequencyAggregatorTest {
+    
+    @Test
+    public void test_merge_SameAsHashMap() throws IOException {
+        List<String> inputs = Porter2Input.words();
+        
+        StemFrequencyAggregator aggregator = new StemFrequencyAggregator();
+        IntStream.range(0, 8).parallel().forEach(
+                pass -> inputs.forEach(input -> aggregator.add(input.toCharArray(), 0, input.length())));
+        
+        Map<String, Long> expected = new HashMap<>();
+        for (String input : inputs) {
+            expected.merge(PorterStemmer.stem(input), 8L, Long::sum);
+        }
+        StemCounts counts = aggregator.merge();
+        assertEquals(expected.size(), counts.size());
+        assertEquals(8L * inputs.size(), counts.getTotal());
+        for (Map.Entry<String, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), counts.getCount(entry.getKey()));
+        }
+    }
+    
+    @Test
+    public void test_addDocument() {
+        StemFrequencyAggregator aggregator = new StemFrequencyAggregator();
+        aggregator.addDocument("generously generous\tgenerous ");
+        aggregator.addDocument("  hopping");
+        aggregator.add("hopped");
+        aggregator.endDocument();
+        
+        List<StemCount> top = aggregator.top(2);
+        assertEquals("generous", top.get(0).getStem());
+        assertEquals(3, top.get(0).getCount());
+        assertEquals(1, top.get(0).getDocumentFrequency());
+        assertEquals("hop", top.get(1).getStem());
+        assertEquals(2, top.get(1).getDocumentFrequency());
+    }
+}
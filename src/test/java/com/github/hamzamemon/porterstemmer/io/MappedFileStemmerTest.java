@@ -0,0 +1,58 @@
+package com.github.hamzamemon.porterstemmer.io;
+
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import com.github.hamzamemon.porterstemmer.stemming.PorterStemmer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MappedFileStemmerTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    public void validateStems() throws IOException {
+        StringBuilder inputs = new StringBuilder();
+        StringBuilder outputs = new StringBuilder();
+        List<String> words = Porter2Input.words();
+        List<String> stems = Porter2Input.stems();
+        int count = 0;
+        for (int i = 0; i < words.size(); i++) {
+            String separator = ++count % 7 == 0 ? "\n" : count % 3 == 0 ? "\t " : " ";
+            inputs.append(words.get(i)).append(separator);
+            outputs.append(stems.get(i)).append(separator);
+        }
+        
+        Path input = directory.resolve("input.txt");
+        Path output = directory.resolve("output.txt");
+        Files.writeString(input, inputs);
+        
+        // a small window makes many tokens cross a window boundary
+        long tokens = new MappedFileStemmer(1000).stem(input, output);
+        
+        assertEquals(count, tokens);
+        assertEquals(outputs.toString(), Files.readString(output));
+    }
+    
+    @Test
+    public void test_stem_NonAsciiTokens() throws IOException {
+        String text = "  naïvely café's\r\nrésumés ";
+        Path input = directory.resolve("input.txt");
+        Path output = directory.resolve("output.txt");
+        Files.writeString(input, text, StandardCharsets.UTF_8);
+        
+        new MappedFileStemmer(12).stem(input, output);
+        
+        String expected = "  " + PorterStemmer.stem("naïvely") + " " + PorterStemmer.stem("café's") + "\r\n"
+                + PorterStemmer.stem("résumés") + " ";
+        assertEquals(expected, Files.readString(output, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.hamzamemon.porterstemmer.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LatencyHistogramTest {
+    
+    @Test
+    public void test_getPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(10);
+        }
+        histogram.record(1000);
+        
+        assertEquals(100, histogram.getCount());
+        assertEquals(19.9, histogram.getMean(), 1e-9);
+        
+        // 10 falls in [8, 16) and 1000 in [512, 1024)
+        assertEquals(15, histogram.getPercentile(50));
+        assertEquals(15, histogram.getPercentile(99));
+        assertEquals(1023, histogram.getPercentile(100));
+    }
+    
+    @Test
+    public void test_reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(-5);
+        assertEquals(0, histogram.getPercentile(100));
+        
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+}
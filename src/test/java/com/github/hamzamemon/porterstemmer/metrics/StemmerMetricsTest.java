@@ -0,0 +1,46 @@
+package com.github.hamzamemon.porterstemmer.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StemmerMetricsTest {
+    
+    @Test
+    public void test_recordStep() {
+        StemmerMetrics metrics = StemmerMetrics.getInstance();
+        metrics.reset();
+        
+        long start = System.nanoTime();
+        long next = StemmerMetrics.recordStep(Step.STEP_1A, start);
+        StemmerMetrics.recordWord();
+        StemmerMetrics.recordExceptionalForm();
+        
+        assertTrue(next >= start);
+        assertEquals(1, StemmerMetrics.getStepLatencies(Step.STEP_1A).getCount());
+        assertEquals(0, StemmerMetrics.getStepLatencies(Step.STEP_5).getCount());
+        assertEquals(1, metrics.getWordsStemmed());
+        assertEquals(1, metrics.getExceptionalForms());
+        assertEquals(Step.values().length, metrics.getStepP99Nanos().size());
+        
+        metrics.reset();
+        assertEquals(0, metrics.getWordsStemmed());
+    }
+    
+    @Test
+    public void test_registerMBean() throws Exception {
+        StemmerMetrics.registerMBean();
+        StemmerMetrics.registerMBean();
+        
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(StemmerMetrics.OBJECT_NAME);
+        assertTrue(server.isRegistered(name));
+        assertEquals(StemmerMetrics.ENABLED, server.getAttribute(name, "Enabled"));
+        server.getAttribute(name, "CacheHitRate");
+    }
+}
@@ -0,0 +1,216 @@
+package com.github.hamzamemon.porterstemmer.service;
+
+import com.github.hamzamemon.porterstemmer.cache.CacheStats;
+import com.github.hamzamemon.porterstemmer.cache.NoStemCache;
+import com.github.hamzamemon.porterstemmer.cache.StemCache;
+import com.github.hamzamemon.porterstemmer.dictionary.StemDictionary;
+import com.github.hamzamemon.porterstemmer.dictionary.StemDictionaryWriter;
+import com.github.hamzamemon.porterstemmer.stemming.Stemmer;
+import com.github.hamzamemon.porterstemmer.stemming.StemmingMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StemmingServiceTest {
+    
+    @Test
+    public void test_submit() throws Exception {
+        String[] words = {"generously", "consignment", "skies", "hopping", "generously"};
+        
+        try (StemmingService service = new StemmingService()) {
+            List<CompletableFuture<String[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(service.submit(words));
+            }
+            
+            for (CompletableFuture<String[]> future : futures) {
+                assertArrayEquals(new String[]{"generous", "consign", "sky", "hop", "generous"}, future.get());
+            }
+            assertEquals(100, service.getLatencies().getCount());
+            assertTrue(service.getBatches() <= 100);
+            assertTrue(service.getLatencies().getPercentile(99) >= service.getLatencies().getPercentile(50));
+        }
+    }
+    
+    @Test
+    public void test_submit_SharesCache() throws Exception {
+        Stemmer stemmer = Stemmer.builder().cacheCapacity(1024).build();
+        
+        try (StemmingService service = new StemmingService(stemmer, 16, 16)) {
+            assertArrayEquals(new String[]{"generous", "consign", "generous"},
+                    service.submit("generously", "consignment", "generously").get());
+            CacheStats stats = stemmer.getCache().stats();
+            assertEquals(0, stats.getHits());
+            assertEquals(2, stats.getMisses());
+            assertEquals(2, stats.getSize());
+            
+            assertArrayEquals(new String[]{"consign"}, service.submit("consignment").get());
+            assertEquals(1, stemmer.getCache().stats().getHits());
+            assertEquals("generous", stemmer.getCache().get("generously"));
+        }
+    }
+    
+    @Test
+    public void test_submit_RejectsWhenFull() throws Exception {
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Stemmer blocking = new BlockingStemmer(batchStarted, release);
+        
+        try (StemmingService service = new StemmingService(blocking, 16, 1, 1)) {
+            CompletableFuture<String[]> first = service.submit("caresses");
+            batchStarted.await();
+            CompletableFuture<String[]> second = service.submit("ponies");
+            CompletableFuture<String[]> third = service.submit("cats");
+            
+            ExecutionException e = assertThrows(ExecutionException.class, third::get);
+            assertInstanceOf(RejectedExecutionException.class, e.getCause());
+            assertEquals(1, service.getRejectedRequests());
+            
+            release.countDown();
+            assertArrayEquals(new String[]{"caress"}, first.get());
+            assertArrayEquals(new String[]{"poni"}, second.get());
+        }
+    }
+    
+    @Test
+    public void test_submit_StemsBatchesConcurrently() throws Exception {
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Stemmer blocking = new BlockingStemmer(batchStarted, release);
+        
+        try (StemmingService service = new StemmingService(blocking, 16, 16, 2)) {
+            CompletableFuture<String[]> first = service.submit("caresses");
+            batchStarted.await();
+            
+            // the second batcher stems this while the first is held
+            assertArrayEquals(new String[]{"poni"}, service.submit("ponies").get(10, TimeUnit.SECONDS));
+            assertFalse(first.isDone());
+            
+            release.countDown();
+            assertArrayEquals(new String[]{"caress"}, first.get());
+        }
+    }
+    
+    @Test
+    public void test_submit_UsesDictionary(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("stems.dict");
+        StemDictionaryWriter.write(List.of("running"), path);
+        Stemmer stemmer = Stemmer.builder().dictionary(StemDictionary.open(path)).build();
+        
+        try (StemmingService service = new StemmingService(stemmer, 16, 16)) {
+            assertArrayEquals(new String[]{"run", "generous"}, service.submit("running", "generously").get());
+            assertEquals(1, stemmer.getCache().size());
+            assertNull(stemmer.getCache().get("running"));
+        }
+    }
+    
+    @Test
+    public void test_start() throws IOException {
+        try (StemmingService service = new StemmingService();
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), service.start(0));
+             Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            writer.write("generously  consignment\n\nknightly\n");
+            writer.flush();
+            
+            assertEquals("generous consign", reader.readLine());
+            assertEquals("", reader.readLine());
+            assertEquals("knight", reader.readLine());
+        }
+    }
+    
+    /**
+     * Stemmer that holds the first word it stems until released
+     */
+    private static final class BlockingStemmer implements Stemmer {
+        
+        private final Stemmer stemmer = Stemmer.builder().cache(NoStemCache.INSTANCE).build();
+        private final CountDownLatch batchStarted;
+        private final CountDownLatch release;
+        private final AtomicBoolean first = new AtomicBoolean(true);
+        
+        private BlockingStemmer(CountDownLatch batchStarted, CountDownLatch release) {
+            this.batchStarted = batchStarted;
+            this.release = release;
+        }
+        
+        @Override
+        public String stem(String word) {
+            if (first.getAndSet(false)) {
+                batchStarted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return stemmer.stem(word);
+        }
+        
+        @Override
+        public String stem(String word, StemmingMode mode) {
+            return stemmer.stem(word, mode);
+        }
+        
+        @Override
+        public int stem(char[] word, int offset, int length) {
+            return stemmer.stem(word, offset, length);
+        }
+        
+        @Override
+        public int stem(char[] word, int offset, int length, StemmingMode mode) {
+            return stemmer.stem(word, offset, length, mode);
+        }
+        
+        @Override
+        public String stemNormalized(String word) {
+            return stemmer.stemNormalized(word);
+        }
+        
+        @Override
+        public int stemNormalized(char[] word, int offset, int length) {
+            return stemmer.stemNormalized(word, offset, length);
+        }
+        
+        @Override
+        public void stem(CharSequence word, Appendable out) throws IOException {
+            stemmer.stem(word, out);
+        }
+        
+        @Override
+        public void stemAll(String[] words, String[] stems) {
+            stemmer.stemAll(words, stems);
+        }
+        
+        @Override
+        public StemCache getCache() {
+            return stemmer.getCache();
+        }
+    }
+}
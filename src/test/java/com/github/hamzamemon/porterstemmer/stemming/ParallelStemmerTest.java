@@ -0,0 +1,75 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelStemmerTest {
+    
+    @Test
+    public void validateStems() throws IOException {
+        List<String> inputs = Porter2Input.words();
+        List<String> outputs = Porter2Input.stems();
+        
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelStemmer stemmer = new ParallelStemmer(pool, 256);
+            assertEquals(outputs, stemmer.stemAll(inputs));
+            
+            long words = 0;
+            for (WorkerStats stats : stemmer.getWorkerStats()) {
+                words += stats.getWords();
+            }
+            assertEquals(inputs.size(), words);
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void test_getWorkerStats_RetiredThreadsShareTheirIndex() throws IOException, InterruptedException {
+        List<String> inputs = Porter2Input.words().subList(0, 4096);
+        
+        // threads idle for more than a few milliseconds are retired and replaced by new ones in the next batch
+        ForkJoinPool pool = new ForkJoinPool(2, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false, 0, 2, 1,
+                saturated -> true, 1, TimeUnit.MILLISECONDS);
+        try {
+            ParallelStemmer stemmer = new ParallelStemmer(pool, 64);
+            for (int batch = 0; batch < 8; batch++) {
+                stemmer.stemAll(inputs);
+                Thread.sleep(100);
+            }
+            
+            long words = 0;
+            for (WorkerStats stats : stemmer.getWorkerStats()) {
+                words += stats.getWords();
+            }
+            assertEquals(8L * inputs.size(), words);
+            assertTrue(stemmer.getWorkerStats().size() <= 3, stemmer.getWorkerStats().toString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void test_stemAll_ListLikeStemmer() {
+        List<String> stems = new ParallelStemmer().stemAll(List.of("running", "is"));
+        
+        assertEquals(Stemmer.builder().build().stemAll(List.of("running", "is")), stems);
+        assertFalse(stems.contains(null));
+    }
+    
+    @Test
+    public void test_constructor_InvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelStemmer(ForkJoinPool.commonPool(), 0));
+    }
+}
@@ -1,12 +1,24 @@
 package com.github.hamzamemon.porterstemmer.stemming;
 
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import com.github.hamzamemon.porterstemmer.cache.LruStemCache;
+import com.github.hamzamemon.porterstemmer.dictionary.StemDictionary;
+import com.github.hamzamemon.porterstemmer.dictionary.StemDictionaryWriter;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Scanner;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class PorterStemmerTest {
     
@@ -32,6 +44,25 @@ public class PorterStemmerTest {
         assertEquals(0, count);
     }
     
+    @Test
+    public void test_stem_Mode() {
+        char[] word = "generously's".toCharArray();
+        
+        assertEquals("generous", PorterStemmer.stem("generously", StemmingMode.FULL));
+        assertEquals("generousli", PorterStemmer.stem("generously", StemmingMode.STEP_1));
+        assertEquals(10, PorterStemmer.stem(word, 0, word.length, StemmingMode.POSSESSIVE));
+    }
+    
+    @Test
+    public void test_stemNormalized() {
+        char[] word = "GENEROUSLY\u2019S".toCharArray();
+        
+        assertEquals("generous", PorterStemmer.stemNormalized("Generously"));
+        assertEquals("generous", PorterStemmer.stemNormalized("generously"));
+        assertEquals(8, PorterStemmer.stemNormalized(word, 0, word.length));
+        assertEquals("generous", new String(word, 0, 8));
+    }
+    
     @Test
     public void test_EmptyStemmedWord() {
         assertEquals("", PorterStemmer.stem("''s"));
@@ -44,4 +75,65 @@ public class PorterStemmerTest {
         
         assertEquals(stemmed, PorterStemmer.stem("generation"));
     }
+    
+    @Test
+    public void test_stemAll() throws IOException {
+        List<String> inputs = Porter2Input.words();
+        List<String> outputs = Porter2Input.stems();
+        
+        assertEquals(outputs, PorterStemmer.stemAll(inputs));
+    }
+    
+    @Test
+    public void test_setCache_KeepsDictionary(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("stems.dict");
+        StemDictionaryWriter.write(List.of("running"), path);
+        Stemmer previous = PorterStemmer.getDefault();
+        PorterStemmer.setDefault(Stemmer.builder().dictionary(StemDictionary.open(path)).build());
+        try {
+            PorterStemmer.setCache(new LruStemCache(16));
+            
+            assertEquals("run", PorterStemmer.stem("running"));
+            assertEquals("generous", PorterStemmer.stem("generously"));
+            assertEquals(1, PorterStemmer.getCache().size());
+        } finally {
+            PorterStemmer.setDefault(previous);
+        }
+    }
+    
+    @Test
+    public void test_stemAll_RepeatedWordsInPlace() {
+        String[] words = {"running", "is", "running", "generously"};
+        PorterStemmer.stemAll(words, words);
+        
+        assertArrayEquals(new String[]{"run", "is", "run", "generous"}, words);
+    }
+    
+    @Test
+    public void test_stemAll_OutputTooSmall() {
+        assertThrows(IllegalArgumentException.class, () -> PorterStemmer.stemAll(new String[2], new String[1]));
+    }
+    
+    @Test
+    public void test_stem_CharArray() {
+        char[] word = "a generously b".toCharArray();
+        int length = PorterStemmer.stem(word, 2, 10);
+        
+        assertEquals("generous", new String(word, 2, length));
+        assertEquals("a generously b", new String(word));
+    }
+    
+    @Test
+    public void test_stem_CharSequenceToAppendable() throws IOException {
+        StringBuilder stems = new StringBuilder();
+        PorterStemmer.stem(CharBuffer.wrap("xxrunningxx").position(2).limit(9), stems);
+        PorterStemmer.stem(new StringBuilder("generously"), stems);
+        
+        StringWriter writer = new StringWriter();
+        PorterStemmer.stem("is", writer);
+        PorterStemmer.stem("meetings", writer);
+        
+        assertEquals("rungenerous", stems.toString());
+        assertEquals("ismeet", writer.toString());
+    }
 }
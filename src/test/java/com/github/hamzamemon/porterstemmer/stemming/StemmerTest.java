@@ -0,0 +1,71 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import com.github.hamzamemon.porterstemmer.cache.ArenaStemCache;
+import com.github.hamzamemon.porterstemmer.cache.CachePolicy;
+import com.github.hamzamemon.porterstemmer.cache.LruStemCache;
+import com.github.hamzamemon.porterstemmer.cache.NoStemCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StemmerTest {
+    
+    @Test
+    public void test_stem_InstancesHaveSeparateCaches() {
+        Stemmer first = Stemmer.builder().cacheCapacity(128).build();
+        Stemmer second = Stemmer.builder().cacheCapacity(128).build();
+        first.stem("generously");
+        first.stem("generously");
+        
+        assertEquals(1, first.getCache().stats().getHits());
+        assertEquals(1, first.getCache().size());
+        assertEquals(0, second.getCache().size());
+    }
+    
+    @Test
+    public void test_stem_NoMemoization() {
+        Stemmer stemmer = Stemmer.builder().memoize(false).build();
+        
+        assertEquals("generous", stemmer.stem("generously"));
+        assertSame(NoStemCache.INSTANCE, stemmer.getCache());
+    }
+    
+    @Test
+    public void test_memoize_KeepsCachePolicy() {
+        Stemmer stemmer = Stemmer.builder().cachePolicy(CachePolicy.ARENA).memoize(true).build();
+        
+        assertTrue(stemmer.getCache() instanceof ArenaStemCache);
+        assertSame(NoStemCache.INSTANCE,
+                Stemmer.builder().memoize(false).cachePolicy(CachePolicy.ARENA).build().getCache());
+    }
+    
+    @Test
+    public void test_stem_BufferStrategies() {
+        for (BufferStrategy bufferStrategy : BufferStrategy.values()) {
+            Stemmer stemmer = Stemmer.builder().cachePolicy(CachePolicy.NONE).bufferStrategy(bufferStrategy).build();
+            
+            assertEquals("run", stemmer.stem("running"));
+            assertEquals(List.of("run", "generous"), stemmer.stemAll(List.of("running", "generously")));
+        }
+    }
+    
+    @Test
+    public void test_build_CustomCache() {
+        LruStemCache cache = new LruStemCache(16);
+        Stemmer stemmer = Stemmer.builder().cache(cache).build();
+        stemmer.stem("running");
+        
+        assertSame(cache, stemmer.getCache());
+        assertEquals("run", cache.get("running"));
+    }
+    
+    @Test
+    public void test_cacheCapacity_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Stemmer.builder().cacheCapacity(0));
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import com.github.hamzamemon.porterstemmer.util.LetterClassifier;
+import com.github.hamzamemon.porterstemmer.util.ScalarLetterClassifier;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StemmingEngineTest {
+    
+    @Test
+    public void validateStems() throws IOException {
+        StemmingEngine engine = new StemmingEngine();
+        int count = 0;
+        
+        List<String> inputs = Porter2Input.words();
+        List<String> outputs = Porter2Input.stems();
+        for (int i = 0; i < inputs.size(); i++) {
+            String input = inputs.get(i);
+            String output = outputs.get(i);
+            
+            char[] word = ("  " + input).toCharArray();
+            int length = engine.stem(word, 2, input.length());
+            String stemmed = new String(word, 2, length);
+            if (!stemmed.equals(output) || !engine.stem(input).equals(output)) {
+                count++;
+                System.out.println(input + "=>" + stemmed + " but should be " + output);
+            }
+        }
+        
+        assertEquals(0, count);
+    }
+    
+    @Test
+    public void test_stem_UnchangedWordIsNotCopied() {
+        String word = "sky";
+        
+        assertSame(word, new StemmingEngine().stem(word));
+    }
+    
+    @Test
+    public void test_stem_GrowsBuffer() {
+        assertEquals("antidisestablishmentarianism", new StemmingEngine().stem("antidisestablishmentarianismically"));
+    }
+    
+    @Test
+    public void test_stemAll_PackedBuffer() throws IOException {
+        List<String> inputs = Porter2Input.words();
+        List<String> outputs = Porter2Input.stems();
+        
+        StringBuilder packed = new StringBuilder("xx");
+        int[] bounds = new int[inputs.size() + 1];
+        for (int i = 0; i < inputs.size(); i++) {
+            bounds[i] = packed.length();
+            packed.append(inputs.get(i));
+        }
+        bounds[inputs.size()] = packed.length();
+        
+        char[] letters = packed.toString().toCharArray();
+        int[] stemLengths = new int[inputs.size()];
+        int flags = new StemmingEngine().stemAll(letters, bounds, inputs.size(), stemLengths,
+                ScalarLetterClassifier.INSTANCE);
+        
+        assertEquals(LetterClassifier.ASCII, flags);
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals(outputs.get(i), new String(letters, bounds[i], stemLengths[i]));
+        }
+    }
+    
+    @Test
+    public void validateStems_FullMode() throws IOException {
+        StemmingEngine engine = new StemmingEngine();
+        int count = 0;
+        
+        List<String> inputs = Porter2Input.words();
+        List<String> outputs = Porter2Input.stems();
+        for (int i = 0; i < inputs.size(); i++) {
+            String input = inputs.get(i);
+            String output = outputs.get(i);
+            
+            char[] word = input.toCharArray();
+            int length = engine.stem(word, 0, word.length, StemmingMode.FULL);
+            if (!new String(word, 0, length).equals(output) || !engine.stem(input, StemmingMode.FULL).equals(output)) {
+                count++;
+            }
+        }
+        
+        assertEquals(0, count);
+    }
+    
+    @Test
+    public void test_stem_PossessiveMode() {
+        StemmingEngine engine = new StemmingEngine();
+        
+        assertEquals("dog", engine.stem("'dog's", StemmingMode.POSSESSIVE));
+        assertEquals("yelling", engine.stem("yelling's'", StemmingMode.POSSESSIVE));
+        assertEquals("cats", engine.stem("cats'", StemmingMode.POSSESSIVE));
+        assertEquals("running", engine.stem("running", StemmingMode.POSSESSIVE));
+    }
+    
+    @Test
+    public void test_stem_PluralMode() {
+        StemmingEngine engine = new StemmingEngine();
+        
+        assertEquals("poni", engine.stem("ponies", StemmingMode.PLURAL));
+        assertEquals("tie", engine.stem("ties", StemmingMode.PLURAL));
+        assertEquals("caress", engine.stem("caresses", StemmingMode.PLURAL));
+        assertEquals("gap", engine.stem("gaps", StemmingMode.PLURAL));
+        assertEquals("gas", engine.stem("gas", StemmingMode.PLURAL));
+        assertEquals("yell", engine.stem("yells", StemmingMode.PLURAL));
+        assertEquals("news", engine.stem("news", StemmingMode.PLURAL));
+        assertEquals("sky", engine.stem("skies", StemmingMode.PLURAL));
+        assertEquals("ski", engine.stem("skis", StemmingMode.PLURAL));
+        assertEquals("gently", engine.stem("gently", StemmingMode.PLURAL));
+        assertEquals("ugly", engine.stem("ugly", StemmingMode.PLURAL));
+        assertEquals("only", engine.stem("only", StemmingMode.PLURAL));
+        assertEquals("early", engine.stem("early", StemmingMode.PLURAL));
+        assertEquals("dying", engine.stem("dying", StemmingMode.PLURAL));
+        assertEquals("gentleness", engine.stem("gentleness", StemmingMode.PLURAL));
+        assertEquals("running", engine.stem("running's", StemmingMode.PLURAL));
+    }
+    
+    @Test
+    public void test_stem_Step1Mode() {
+        StemmingEngine engine = new StemmingEngine();
+        char[] word = "hopping".toCharArray();
+        
+        assertEquals("run", engine.stem("running", StemmingMode.STEP_1));
+        assertEquals("happi", engine.stem("happy", StemmingMode.STEP_1));
+        assertEquals("gentli", engine.stem("gently", StemmingMode.STEP_1));
+        assertEquals("sky", engine.stem("skies", StemmingMode.STEP_1));
+        assertEquals("agree", engine.stem("agreed", StemmingMode.STEP_1));
+        assertEquals("inning", engine.stem("innings", StemmingMode.STEP_1));
+        assertEquals("national", engine.stem("nationals", StemmingMode.STEP_1));
+        assertEquals(3, engine.stem(word, 0, word.length, StemmingMode.STEP_1));
+    }
+    
+    @Test
+    public void validateStems_Normalized() throws IOException {
+        StemmingEngine engine = new StemmingEngine();
+        int count = 0;
+        
+        List<String> inputs = Porter2Input.words();
+        List<String> outputs = Porter2Input.stems();
+        for (int i = 0; i < inputs.size(); i++) {
+            String input = inputs.get(i).toUpperCase().replace('\'', '\u2019');
+            String output = outputs.get(i);
+            
+            char[] word = input.toCharArray();
+            int length = engine.stemNormalized(word, 0, word.length);
+            if (!new String(word, 0, length).equals(output) || !engine.stemNormalized(input).equals(output)) {
+                count++;
+                System.out.println(input + "=>" + new String(word, 0, length) + " but should be " + output);
+            }
+        }
+        
+        assertEquals(0, count);
+    }
+    
+    @Test
+    public void test_stemNormalized() {
+        StemmingEngine engine = new StemmingEngine();
+        String word = "sky";
+        
+        assertSame(word, engine.stemNormalized(word));
+        assertEquals("dog", engine.stemNormalized("\u2018Dog\u2019s"));
+        assertEquals("", engine.stemNormalized("\u201B's"));
+        assertEquals("ye", engine.stemNormalized("YE"));
+        assertEquals("\u00e9t\u00e9", engine.stemNormalized("\u00c9T\u00c9"));
+    }
+}
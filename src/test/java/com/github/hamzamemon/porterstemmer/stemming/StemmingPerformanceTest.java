@@ -0,0 +1,336 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import com.github.hamzamemon.porterstemmer.cache.CachePolicy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation and throughput regression gate, run with {@code mvn test -Pperformance}. Each measurement is compared with
+ * the baseline in performance-baseline.properties; {@code -Dporterstemmer.performance.record=true} records a new one.
+ * Throughput is measured as the time to stem the words relative to a calibration loop timed in the same run, so the
+ * baseline carries over between machines better than an absolute number of words per second would
+ */
+@Tag("performance")
+public class StemmingPerformanceTest {
+    
+    private static final Path BASELINE = Paths.get("./src/test/resources/performance-baseline.properties");
+    private static final boolean RECORD = Boolean.getBoolean("porterstemmer.performance.record");
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int ROUNDS = 40;
+    
+    private static String[] words;
+    private static Properties baseline;
+    
+    @BeforeAll
+    public static void loadWords() throws IOException {
+        words = Porter2Input.words().toArray(new String[0]);
+        
+        baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(BASELINE)) {
+            baseline.load(reader);
+        }
+    }
+    
+    /**
+     * Gets the bytes the current thread has allocated so far
+     *
+     * @return the allocated bytes
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    
+    /**
+     * Skips the test when the JVM cannot count the bytes allocated by a thread
+     */
+    private static void assumeAllocationCounting() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+    }
+    
+    /**
+     * Stems every word with the String entry point of an engine
+     *
+     * @param engine the engine
+     * @return the number of letters in the stems, so the work is not optimized away
+     */
+    private static long stemStrings(StemmingEngine engine) {
+        long letters = 0;
+        for (String word : words) {
+            letters += engine.stem(word).length();
+        }
+        return letters;
+    }
+    
+    /**
+     * Stems every word with PorterStemmer.stem, through the default stemmer and its cache
+     *
+     * @return the number of letters in the stems, so the work is not optimized away
+     */
+    private static long stemWithPorterStemmer() {
+        long letters = 0;
+        for (String word : words) {
+            letters += PorterStemmer.stem(word).length();
+        }
+        return letters;
+    }
+    
+    /**
+     * Stems every word in place in a scratch buffer
+     *
+     * @param engine  the engine
+     * @param letters the words, packed one after another
+     * @param scratch the buffer each word is stemmed in
+     * @return the number of letters in the stems, so the work is not optimized away
+     */
+    private static long stemInPlace(StemmingEngine engine, char[] letters, char[] scratch) {
+        long stemmed = 0;
+        int offset = 0;
+        for (String word : words) {
+            int length = word.length();
+            System.arraycopy(letters, offset, scratch, 0, length);
+            stemmed += engine.stem(scratch, 0, length);
+            offset += length;
+        }
+        return stemmed;
+    }
+    
+    /**
+     * Walks every letter of every word the way the stemmer does, hashing it and classifying vowels, without stemming.
+     * Its time is the unit throughput is measured in
+     *
+     * @return the hash of the letters, so the work is not optimized away
+     */
+    private static long calibrate() {
+        long hash = 0;
+        for (String word : words) {
+            for (int i = word.length() - 1; i >= 0; i--) {
+                char letter = word.charAt(i);
+                hash = 31 * hash + letter;
+                switch (letter) {
+                    case 'a', 'e', 'i', 'o', 'u', 'y':
+                        hash ^= i;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return hash;
+    }
+    
+    /**
+     * Measures the bytes a workload allocates per word once warmed up
+     *
+     * @param round stems every word once
+     * @return the bytes allocated per word
+     */
+    private static double measureAllocation(LongSupplier round) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += round.getAsLong();
+        }
+        
+        long before = allocatedBytes();
+        for (int i = 0; i < ROUNDS; i++) {
+            checksum += round.getAsLong();
+        }
+        long allocated = allocatedBytes() - before;
+        
+        assertTrue(checksum > 0);
+        return (double) allocated / ((long) ROUNDS * words.length);
+    }
+    
+    /**
+     * Measures the time of a workload relative to the calibration loop, timing the two back to back in every round so
+     * both see the same machine load
+     *
+     * @param round stems every word once
+     * @return the median over the rounds of the time of the workload divided by the time of the calibration loop
+     */
+    private static double measureCost(LongSupplier round) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += round.getAsLong() + calibrate();
+        }
+        
+        double[] costs = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            checksum += calibrate();
+            long middle = System.nanoTime();
+            checksum += round.getAsLong();
+            costs[i] = (double) (System.nanoTime() - middle) / (middle - start);
+        }
+        
+        assertTrue(checksum != 0);
+        Arrays.sort(costs);
+        return costs[ROUNDS / 2];
+    }
+    
+    /**
+     * Runs a workload with the default stemmer of PorterStemmer replaced by one with a cache policy
+     *
+     * @param cachePolicy the cache policy
+     * @param workload    the workload
+     * @return the result of the workload
+     */
+    private static double withDefaultStemmer(CachePolicy cachePolicy, DoubleSupplier workload) {
+        Stemmer previous = PorterStemmer.getDefault();
+        PorterStemmer.setDefault(Stemmer.builder().cachePolicy(cachePolicy).build());
+        try {
+            return workload.getAsDouble();
+        } finally {
+            PorterStemmer.setDefault(previous);
+        }
+    }
+    
+    /**
+     * Compares an allocation measurement with its baseline, or records it
+     *
+     * @param key          the baseline key
+     * @param bytesPerWord the measured bytes allocated per word
+     */
+    private static void checkAllocation(String key, double bytesPerWord) throws IOException {
+        if (record(key, bytesPerWord)) {
+            return;
+        }
+        
+        double allowed = Double.parseDouble(baseline.getProperty(key))
+                * Double.parseDouble(baseline.getProperty("allocationTolerance"))
+                + Double.parseDouble(baseline.getProperty("allocationSlack"));
+        assertTrue(bytesPerWord <= allowed,
+                String.format("%s: %.1f bytes per word, the baseline allows %.1f", key, bytesPerWord, allowed));
+    }
+    
+    /**
+     * Compares a throughput measurement with its baseline, or records it
+     *
+     * @param key  the baseline key
+     * @param cost the measured time relative to the calibration loop
+     */
+    private static void checkCost(String key, double cost) throws IOException {
+        if (record(key, cost)) {
+            return;
+        }
+        
+        double allowed = Double.parseDouble(baseline.getProperty(key))
+                * Double.parseDouble(baseline.getProperty("costTolerance"));
+        assertTrue(cost <= allowed,
+                String.format("%s: %.2f times the calibration loop, the baseline allows %.2f", key, cost, allowed));
+    }
+    
+    /**
+     * Writes a measurement to the baseline file when recording, along with the machine it was recorded on
+     *
+     * @param key   the baseline key
+     * @param value the measurement
+     * @return if the measurement was recorded instead of checked
+     */
+    private static boolean record(String key, double value) throws IOException {
+        if (!RECORD) {
+            return false;
+        }
+        
+        System.out.printf("%s=%.2f%n", key, value);
+        synchronized (StemmingPerformanceTest.class) {
+            baseline.setProperty(key, String.format("%.2f", value));
+            baseline.setProperty("recordedOn", String.format("%s %s, %d processors, %s %s",
+                    System.getProperty("os.name"), System.getProperty("os.arch"),
+                    Runtime.getRuntime().availableProcessors(), System.getProperty("java.vm.name"),
+                    System.getProperty("java.version")));
+            try (Writer writer = Files.newBufferedWriter(BASELINE)) {
+                writer.write("# Recorded by mvn test -Pperformance -Dporterstemmer.performance.record=true\n");
+                writer.write("# *Cost is the median time to stem porter2Input.txt over the time of the calibration"
+                        + " loop\n");
+                for (Map.Entry<Object, Object> entry : new TreeMap<>(baseline).entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+        }
+        return true;
+    }
+    
+    @Test
+    public void test_stem_String_AllocationPerWord() throws IOException {
+        assumeAllocationCounting();
+        StemmingEngine engine = new StemmingEngine();
+        
+        checkAllocation("stringBytesPerWord", measureAllocation(() -> stemStrings(engine)));
+    }
+    
+    @Test
+    public void test_stem_CharArray_AllocationPerWord() throws IOException {
+        assumeAllocationCounting();
+        StemmingEngine engine = new StemmingEngine();
+        StringBuilder packed = new StringBuilder();
+        int longest = 0;
+        for (String word : words) {
+            packed.append(word);
+            longest = Math.max(longest, word.length());
+        }
+        char[] letters = packed.toString().toCharArray();
+        char[] scratch = new char[longest];
+        
+        checkAllocation("charArrayBytesPerWord", measureAllocation(() -> stemInPlace(engine, letters, scratch)));
+    }
+    
+    @Test
+    public void test_PorterStemmer_NoCache_AllocationPerWord() throws IOException {
+        assumeAllocationCounting();
+        
+        double bytesPerWord = withDefaultStemmer(CachePolicy.NONE,
+                () -> measureAllocation(StemmingPerformanceTest::stemWithPorterStemmer));
+        checkAllocation("noCacheBytesPerWord", bytesPerWord);
+    }
+    
+    @Test
+    public void test_PorterStemmer_LruCache_AllocationPerWord() throws IOException {
+        assumeAllocationCounting();
+        
+        double bytesPerWord = withDefaultStemmer(CachePolicy.LRU,
+                () -> measureAllocation(StemmingPerformanceTest::stemWithPorterStemmer));
+        checkAllocation("lruCacheBytesPerWord", bytesPerWord);
+    }
+    
+    @Test
+    public void test_stem_String_Throughput() throws IOException {
+        StemmingEngine engine = new StemmingEngine();
+        
+        checkCost("stringCost", measureCost(() -> stemStrings(engine)));
+    }
+    
+    @Test
+    public void test_PorterStemmer_NoCache_Throughput() throws IOException {
+        double cost = withDefaultStemmer(CachePolicy.NONE,
+                () -> measureCost(StemmingPerformanceTest::stemWithPorterStemmer));
+        checkCost("noCacheCost", cost);
+    }
+    
+    @Test
+    public void test_PorterStemmer_LruCache_Throughput() throws IOException {
+        double cost = withDefaultStemmer(CachePolicy.LRU,
+                () -> measureCost(StemmingPerformanceTest::stemWithPorterStemmer));
+        checkCost("lruCacheCost", cost);
+    }
+}
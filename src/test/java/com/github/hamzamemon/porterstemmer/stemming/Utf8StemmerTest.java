@@ -0,0 +1,64 @@
+package com.github.hamzamemon.porterstemmer.stemming;
+
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Utf8StemmerTest {
+    
+    @Test
+    public void validateStems() throws IOException {
+        Utf8Stemmer stemmer = new Utf8Stemmer();
+        ByteBuffer out = ByteBuffer.allocate(64);
+        int count = 0;
+        
+        List<String> inputs = Porter2Input.words();
+        List<String> outputs = Porter2Input.stems();
+        for (int i = 0; i < inputs.size(); i++) {
+            String input = inputs.get(i);
+            String output = outputs.get(i);
+            
+            byte[] word = input.getBytes(StandardCharsets.US_ASCII);
+            int length = stemmer.stem(word, 0, word.length);
+            String stemmed = new String(word, 0, length, StandardCharsets.US_ASCII);
+            
+            out.clear();
+            stemmer.stem(ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII)), out);
+            String stemmedBuffer = new String(out.array(), 0, out.position(), StandardCharsets.US_ASCII);
+            
+            if (!stemmed.equals(output) || !stemmedBuffer.equals(output)) {
+                count++;
+                System.out.println(input + "=>" + stemmed + " but should be " + output);
+            }
+        }
+        
+        assertEquals(0, count);
+    }
+    
+    @Test
+    public void test_stem_NonAscii() {
+        Utf8Stemmer stemmer = new Utf8Stemmer();
+        for (String input : new String[]{"naïvely", "café's", "résumés", "ŝipoj", "𝔸generously"}) {
+            byte[] word = (" " + input + " ").getBytes(StandardCharsets.UTF_8);
+            int length = stemmer.stem(word, 1, word.length - 2);
+            
+            assertEquals(PorterStemmer.stem(input), new String(word, 1, length, StandardCharsets.UTF_8));
+        }
+    }
+    
+    @Test
+    public void test_stem_MalformedIsUnchanged() {
+        byte[] word = {'r', 'u', 'n', 'n', 'i', 'n', 'g', (byte) 0xC3};
+        ByteBuffer out = ByteBuffer.allocate(8);
+        
+        assertEquals(8, new Utf8Stemmer().stem(word, 0, 8));
+        assertEquals(8, new Utf8Stemmer().stem(ByteBuffer.wrap(word), out));
+        assertEquals(ByteBuffer.wrap(word), out.flip());
+    }
+}
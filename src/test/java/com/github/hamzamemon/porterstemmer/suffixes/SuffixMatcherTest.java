@@ -0,0 +1,47 @@
+package com.github.hamzamemon.porterstemmer.suffixes;
+
+import com.github.hamzamemon.porterstemmer.Porter2Input;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class SuffixMatcherTest {
+    
+    private static final SuffixTrie<Step2Suffixes> STEP_2_SUFFIXES = new SuffixTrie<>(Step2Suffixes.values());
+    private static final SuffixTrie<Step3Suffixes> STEP_3_SUFFIXES = new SuffixTrie<>(Step3Suffixes.values());
+    private static final SuffixTrie<Step4Suffixes> STEP_4_SUFFIXES = new SuffixTrie<>(Step4Suffixes.values());
+    
+    @Test
+    public void test_matchStep2() {
+        assertEquals(Step2Suffixes.ATIONAL, SuffixMatcher.matchStep2("relational".toCharArray(), 10, 0));
+        assertEquals(Step2Suffixes.ALLI, SuffixMatcher.matchStep2("radicalli".toCharArray(), 9, 0));
+        assertEquals(Step2Suffixes.LI, SuffixMatcher.matchStep2("radicalli".toCharArray(), 9, 7));
+        assertNull(SuffixMatcher.matchStep2("radicalli".toCharArray(), 9, 8));
+        assertNull(SuffixMatcher.matchStep2("PALI".toCharArray(), 4, 0));
+    }
+    
+    @Test
+    public void test_matchStep1b() {
+        assertEquals(5, SuffixMatcher.matchStep1b("exceedingly".toCharArray(), 11, 0));
+        assertEquals(2, SuffixMatcher.matchStep1b("hopped".toCharArray(), 6, 0));
+        assertEquals(0, SuffixMatcher.matchStep1b("hopping".toCharArray(), 4, 0));
+    }
+    
+    @Test
+    public void test_match_SameAsSuffixTrie() throws IOException {
+        for (String input : Porter2Input.words()) {
+            char[] word = input.toCharArray();
+            for (int minStart = 0; minStart <= word.length; minStart += 3) {
+                assertEquals(STEP_2_SUFFIXES.longestMatch(word, word.length, minStart),
+                        SuffixMatcher.matchStep2(word, word.length, minStart));
+                assertEquals(STEP_3_SUFFIXES.longestMatch(word, word.length, minStart),
+                        SuffixMatcher.matchStep3(word, word.length, minStart));
+                assertEquals(STEP_4_SUFFIXES.longestMatch(word, word.length, minStart),
+                        SuffixMatcher.matchStep4(word, word.length, minStart));
+            }
+        }
+    }
+}
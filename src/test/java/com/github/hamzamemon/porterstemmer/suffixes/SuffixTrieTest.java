@@ -0,0 +1,47 @@
+package com.github.hamzamemon.porterstemmer.suffixes;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SuffixTrieTest {
+    
+    private enum Misordered {
+        LI,
+        ALLI;
+        
+        @Override
+        public String toString() {
+            return name().toLowerCase();
+        }
+    }
+    
+    @Test
+    public void test_longestMatch() {
+        SuffixTrie<Step2Suffixes> trie = new SuffixTrie<>(Step2Suffixes.values());
+        
+        assertEquals(Step2Suffixes.ATIONAL, trie.longestMatch("relational".toCharArray(), 10, 0));
+        assertEquals(Step2Suffixes.TIONAL, trie.longestMatch("conditional".toCharArray(), 11, 0));
+        assertEquals(Step2Suffixes.ALLI, trie.longestMatch("radicalli".toCharArray(), 9, 0));
+        assertEquals(Step2Suffixes.LI, trie.longestMatch("radicalli".toCharArray(), 9, 7));
+        assertNull(trie.longestMatch("hopping".toCharArray(), 7, 0));
+        assertNull(trie.longestMatch("PALI".toCharArray(), 4, 0));
+    }
+    
+    @Test
+    public void test_longestMatch_MatchesEveryEnumValue() {
+        SuffixTrie<Step4Suffixes> trie = new SuffixTrie<>(Step4Suffixes.values());
+        for (Step4Suffixes step4Suffix : Step4Suffixes.values()) {
+            char[] word = ("xx" + step4Suffix).toCharArray();
+            
+            assertEquals(step4Suffix, trie.longestMatch(word, word.length, 0));
+        }
+    }
+    
+    @Test
+    public void test_constructor_ShorterSuffixDeclaredFirst() {
+        assertThrows(IllegalArgumentException.class, () -> new SuffixTrie<>(Misordered.values()));
+    }
+}
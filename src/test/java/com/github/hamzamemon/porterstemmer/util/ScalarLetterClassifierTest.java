@@ -0,0 +1,26 @@
+package com.github.hamzamemon.porterstemmer.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ScalarLetterClassifierTest {
+    
+    @Test
+    public void test_classify() {
+        boolean[] vowels = new boolean[8];
+        int flags = ScalarLetterClassifier.INSTANCE.classify("xxsayYes".toCharArray(), 2, 6, vowels);
+        
+        assertEquals(LetterClassifier.ASCII, flags);
+        assertArrayEquals(new boolean[]{false, true, true, false, true, false, false, false}, vowels);
+        assertEquals(LetterClassifier.ASCII | LetterClassifier.LOWERCASE,
+                ScalarLetterClassifier.INSTANCE.classify("generous".toCharArray(), 0, 8, vowels));
+        assertEquals(0, ScalarLetterClassifier.INSTANCE.classify("café".toCharArray(), 0, 4, vowels));
+    }
+    
+    @Test
+    public void test_getDefault() {
+        assertEquals(ScalarLetterClassifier.INSTANCE, LetterClassifier.getDefault());
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.hamzamemon.porterstemmer.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WordAnalysisTest {
+    
+    @Test
+    public void test_getMeasure_MatchesWordMethods() {
+        String[] words = {"a", "at", "be", "between", "been", "trouble", "oaten", "ivy", "strengths"};
+        WordAnalysis analysis = new WordAnalysis();
+        for (String word : words) {
+            analysis.analyze(word.toCharArray(), word.length());
+            for (int length = 0; length <= word.length(); length++) {
+                String prefix = word.substring(0, length);
+                
+                assertEquals(WordMethods.getMeasure(prefix), analysis.getMeasure(length), prefix);
+                assertEquals(WordMethods.endsWithShortSyllable(prefix), analysis.endsWithShortSyllable(length), prefix);
+                assertEquals(WordMethods.getLetterTypes(prefix).contains("V"), analysis.containsVowel(length), prefix);
+            }
+        }
+    }
+    
+    @Test
+    public void test_update() {
+        char[] word = "hoping".toCharArray();
+        WordAnalysis analysis = new WordAnalysis();
+        analysis.analyze(word, 6);
+        
+        // hoping -> hop -> hope
+        word[3] = 'e';
+        analysis.update(3, 4);
+        
+        assertEquals(1, analysis.getMeasure(4));
+        assertTrue(analysis.isVowel(3));
+        assertFalse(analysis.isShort(4));
+        assertTrue(analysis.isShort(3));
+    }
+    
+    @Test
+    public void test_getIndexOfConsonantAfterVowel() {
+        char[] word = "beautiful".toCharArray();
+        WordAnalysis analysis = new WordAnalysis();
+        analysis.analyze(word, 9);
+        
+        assertEquals(4, analysis.getIndexOfConsonantAfterVowel(0, 9));
+        assertEquals(6, analysis.getIndexOfConsonantAfterVowel(4, 9));
+        assertEquals(9, analysis.getIndexOfConsonantAfterVowel(8, 9));
+    }
+}
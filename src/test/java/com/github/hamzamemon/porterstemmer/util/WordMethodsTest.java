@@ -19,6 +19,26 @@ public class WordMethodsTest {
         assertTrue(WordMethods.endsWithDouble("putt"));
         assertTrue(WordMethods.endsWithDouble("puTT"));
         assertFalse(WordMethods.endsWithDouble("punt"));
+        assertFalse(WordMethods.endsWithDouble("t"));
+        assertFalse(WordMethods.endsWithDouble("puss"));
+        
+        assertTrue(WordMethods.endsWithDouble("putt".toCharArray(), 4));
+        assertFalse(WordMethods.endsWithDouble("putt".toCharArray(), 3));
+    }
+    
+    @Test
+    public void test_normalize() {
+        assertEquals('a', WordMethods.normalize('A'));
+        assertEquals('z', WordMethods.normalize('z'));
+        assertEquals('\'', WordMethods.normalize('\u2018'));
+        assertEquals('\'', WordMethods.normalize('\u2019'));
+        assertEquals('\'', WordMethods.normalize('\u201B'));
+        assertEquals('\u00e9', WordMethods.normalize('\u00c9'));
+        assertEquals('-', WordMethods.normalize('-'));
+        
+        assertTrue(WordMethods.isNormalized("don't"));
+        assertFalse(WordMethods.isNormalized("don\u2019t"));
+        assertFalse(WordMethods.isNormalized("Don't"));
     }
     
     @Test
@@ -33,7 +53,11 @@ public class WordMethodsTest {
         
         input = new StringBuilder("yes");
         WordMethods.setCapitalYs(input);
-        assertEquals("yes", input.toString());
+        assertEquals("Yes", input.toString());
+        
+        input = new StringBuilder("sayyid");
+        WordMethods.setCapitalYs(input);
+        assertEquals("saYyid", input.toString());
     }
     
     @Test
@@ -73,5 +97,9 @@ public class WordMethodsTest {
         
         assertEquals(2, WordMethods.getMeasure("between"));
         assertEquals(1, WordMethods.getMeasure("been"));
+        assertEquals(0, WordMethods.getMeasure(""));
+        
+        assertEquals(2, WordMethods.getMeasure("between".toCharArray(), 7));
+        assertEquals(1, WordMethods.getMeasure("between".toCharArray(), 4));
     }
 }
@@ -0,0 +1,61 @@
+package com.github.hamzamemon.porterstemmer.vector;
+
+import com.github.hamzamemon.porterstemmer.util.LetterClassifier;
+import com.github.hamzamemon.porterstemmer.util.WordMethods;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link LetterClassifier} comparing as many letters at once as the widest SIMD register holds, with the incubating
+ * Vector API. The JVM must run with --add-modules jdk.incubator.vector, otherwise {@link LetterClassifier#getDefault()}
+ * skips this classifier and uses the scalar one
+ */
+public final class VectorLetterClassifier implements LetterClassifier {
+    
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    
+    @Override
+    public int classify(char[] letters, int offset, int length, boolean[] vowels) {
+        boolean ascii = true;
+        boolean lowercase = true;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, letters, offset + i);
+            VectorMask<Short> vowel = vector.eq((short) 'a')
+                    .or(vector.eq((short) 'e'))
+                    .or(vector.eq((short) 'i'))
+                    .or(vector.eq((short) 'o'))
+                    .or(vector.eq((short) 'u'))
+                    .or(vector.eq((short) 'y'));
+            vowel.intoArray(vowels, i);
+            
+            // unsigned, so letters from 0x8000 on are not read as negative
+            ascii &= vector.compare(VectorOperators.UNSIGNED_LT, (short) 0x80).allTrue();
+            lowercase &= vector.sub((short) 'a').compare(VectorOperators.UNSIGNED_LT, (short) 26).allTrue();
+        }
+        
+        int flags = (ascii ? ASCII : 0) | (lowercase ? LOWERCASE : 0);
+        for (; i < length; i++) {
+            char letter = letters[offset + i];
+            vowels[i] = WordMethods.isVowel(letter);
+            if (letter >= 0x80) {
+                flags &= ~(ASCII | LOWERCASE);
+            } else if (letter < 'a' || letter > 'z') {
+                flags &= ~LOWERCASE;
+            }
+        }
+        return flags;
+    }
+    
+    /**
+     * Determines if the JVM has SIMD registers wider than 64 bits, below which the scalar classifier is as fast
+     *
+     * @return if it is supported
+     */
+    @Override
+    public boolean isSupported() {
+        return SPECIES.vectorBitSize() >= 128;
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.hamzamemon.porterstemmer.vector;
+
+import com.github.hamzamemon.porterstemmer.util.LetterClassifier;
+import com.github.hamzamemon.porterstemmer.util.ScalarLetterClassifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VectorLetterClassifierTest {
+    
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzY'-";
+    
+    @Test
+    public void test_classify_SameAsScalar() {
+        VectorLetterClassifier classifier = new VectorLetterClassifier();
+        Random random = new Random(42);
+        for (int length = 0; length < 200; length++) {
+            char[] letters = new char[length + 3];
+            for (int i = 0; i < letters.length; i++) {
+                letters[i] = LETTERS.charAt(random.nextInt(26));
+            }
+            if (length > 0 && random.nextBoolean()) {
+                letters[3 + random.nextInt(length)] = random.nextBoolean() ? 'é' : LETTERS.charAt(26 + random.nextInt(3));
+            }
+            
+            boolean[] expected = new boolean[length];
+            boolean[] actual = new boolean[length];
+            assertEquals(ScalarLetterClassifier.INSTANCE.classify(letters, 3, length, expected),
+                    classifier.classify(letters, 3, length, actual));
+            assertArrayEquals(expected, actual);
+        }
+    }
+    
+    @Test
+    public void test_classify_HighLetters() {
+        boolean[] vowels = new boolean[40];
+        char[] letters = new char[40];
+        Arrays.fill(letters, 'a');
+        letters[5] = '￡';
+        
+        assertEquals(0, new VectorLetterClassifier().classify(letters, 0, 40, vowels));
+    }
+    
+    @Test
+    public void test_getDefault() {
+        assumeTrue(new VectorLetterClassifier().isSupported());
+        
+        assertInstanceOf(VectorLetterClassifier.class, LetterClassifier.getDefault());
+    }
+}